@@ -0,0 +1,40 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Copy of the test application of the library, extended by endpoints serving bodies of different sizes.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@SpringBootApplication
+@RestController
+public class BenchmarkApp {
+
+    public static void main(String... args) {
+        SpringApplication.run(BenchmarkApp.class, args);
+    }
+
+    public static record Person(String username, String firstname, String lastname) {}
+
+    @GetMapping("/test/ok")
+    public Person testGetMethod() {
+        return new Person("John Doe", "John", "Doe");
+    }
+
+    @GetMapping(path = "/bench/{size}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public String json(@PathVariable("size") Bodies.Size size) {
+        return Bodies.json(size);
+    }
+
+    @GetMapping(path = "/bench/{size}/xml", produces = MediaType.APPLICATION_XML_VALUE)
+    public String xml(@PathVariable("size") Bodies.Size size) {
+        return Bodies.xml(size);
+    }
+}
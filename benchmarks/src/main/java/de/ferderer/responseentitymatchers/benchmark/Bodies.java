@@ -0,0 +1,91 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Generated response bodies of different sizes, listing people like the {@code /test/ok} endpoint of the
+ * test application does.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public final class Bodies {
+
+    /**
+     * Body sizes used as JMH parameter values.
+     */
+    public enum Size {
+        /** About 1 KB. */
+        small(10),
+        /** About 50 KB. */
+        medium(500),
+        /** About 1 MB. */
+        large(10_000);
+
+        private final int items;
+
+        Size(int items) {
+            this.items = items;
+        }
+
+        public int items() {
+            return items;
+        }
+    }
+
+    private static final Map<Size, String> json = new EnumMap<>(Size.class);
+    private static final Map<Size, String> xml = new EnumMap<>(Size.class);
+
+    /**
+     * Return a JSON document {@code {"items": [{"id": 0, "username": "user0", ...}, ...]}}.
+     */
+    public static synchronized String json(Size size) {
+        return json.computeIfAbsent(size, Bodies::createJson);
+    }
+
+    /**
+     * Return the JSON document encoded as UTF-8.
+     */
+    public static byte[] jsonBytes(Size size) {
+        return json(size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Return an XML document {@code <people><person id="0"><username>user0</username>...</person>...</people>}.
+     */
+    public static synchronized String xml(Size size) {
+        return xml.computeIfAbsent(size, Bodies::createXml);
+    }
+
+    private static String createJson(Size size) {
+        StringBuilder sb = new StringBuilder(size.items * 100).append("{\"items\": [");
+        for (int i = 0; i < size.items; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("{\"id\": ").append(i)
+                .append(", \"username\": \"user").append(i)
+                .append("\", \"firstname\": \"First").append(i)
+                .append("\", \"lastname\": \"Last").append(i)
+                .append("\", \"active\": ").append(i % 2 == 0)
+                .append('}');
+        }
+        return sb.append("], \"total\": ").append(size.items).append('}').toString();
+    }
+
+    private static String createXml(Size size) {
+        StringBuilder sb = new StringBuilder(size.items * 120).append("<people>");
+        for (int i = 0; i < size.items; i++) {
+            sb.append("<person id=\"").append(i).append("\" active=\"").append(i % 2 == 0).append("\">")
+                .append("<username>user").append(i).append("</username>")
+                .append("<firstname>First").append(i).append("</firstname>")
+                .append("<lastname>Last").append(i).append("</lastname>")
+                .append("</person>");
+        }
+        return sb.append("</people>").toString();
+    }
+
+    private Bodies() {}
+}
@@ -0,0 +1,89 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.content;
+import de.ferderer.responseentitymatchers.matcher.ResponseMatcher;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cost of a single {@code content()} assertion on a response body of the given size.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentMatchersBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public Bodies.Size size;
+
+    private ResponseEntity<String> json;
+    private ResponseEntity<byte[]> jsonBytes;
+    private ResponseEntity<String> xml;
+    private ResponseMatcher jsonLenient;
+    private ResponseMatcher jsonStrict;
+    private ResponseMatcher xmlSimilar;
+    private ResponseMatcher string;
+    private ResponseMatcher bytes;
+
+    @Setup
+    public void setUp() {
+        json = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Bodies.json(size));
+        jsonBytes = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Bodies.jsonBytes(size));
+        xml = ResponseEntity.ok().contentType(MediaType.APPLICATION_XML).body(Bodies.xml(size));
+
+        // copies, so that comparisons cannot short-cut on identity
+        jsonLenient = content().json(new String(Bodies.json(size)));
+        jsonStrict = content().json(new String(Bodies.json(size)), true);
+        xmlSimilar = content().xml(new String(Bodies.xml(size)));
+        string = content().string(new String(Bodies.json(size)));
+        bytes = content().bytes(Bodies.jsonBytes(size));
+    }
+
+    @Benchmark
+    public void jsonLenient() throws Exception {
+        jsonLenient.match(json);
+    }
+
+    @Benchmark
+    public void jsonStrict() throws Exception {
+        jsonStrict.match(json);
+    }
+
+    @Benchmark
+    public void xml() throws Exception {
+        xmlSimilar.match(xml);
+    }
+
+    @Benchmark
+    public void string() throws Exception {
+        string.match(json);
+    }
+
+    @Benchmark
+    public void bytes() throws Exception {
+        bytes.match(jsonBytes);
+    }
+
+    @Benchmark
+    public void contentType() throws Exception {
+        content().contentType(MediaType.APPLICATION_JSON).match(json);
+    }
+}
@@ -0,0 +1,78 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.header;
+import static org.hamcrest.Matchers.startsWith;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cost of {@code header()} assertions on responses carrying the given number of headers.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderMatchersBenchmark {
+
+    private static final long DATE = 1_700_000_000_000L;
+
+    @Param({"5", "50", "500"})
+    public int headers;
+
+    private ResponseEntity<String> response;
+    private String last;
+
+    @Setup
+    public void setUp() {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setDate(HttpHeaders.LAST_MODIFIED, DATE);
+        httpHeaders.setContentLength(1024);
+        for (int i = 0; i < headers; i++) {
+            httpHeaders.add("X-Custom-" + i, "value-" + i);
+        }
+        response = ResponseEntity.ok().headers(httpHeaders).body("");
+        last = "X-Custom-" + (headers - 1);
+    }
+
+    @Benchmark
+    public void dateValue() throws Exception {
+        header().dateValue(HttpHeaders.LAST_MODIFIED, DATE).match(response);
+    }
+
+    @Benchmark
+    public void longValue() throws Exception {
+        header().longValue(HttpHeaders.CONTENT_LENGTH, 1024).match(response);
+    }
+
+    @Benchmark
+    public void string() throws Exception {
+        header().string(last, "value-" + (headers - 1)).match(response);
+    }
+
+    @Benchmark
+    public void stringMatcher() throws Exception {
+        header().string(last, startsWith("value-")).match(response);
+    }
+
+    @Benchmark
+    public void exists() throws Exception {
+        header().exists(last).match(response);
+    }
+}
@@ -0,0 +1,115 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.content;
+import de.ferderer.responseentitymatchers.matcher.ResponseMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Built-in structural JSON comparison of {@code content().json()} against JSONassert, which it replaced.
+ * Both parse the expected document once and the response body on every call. The lenient variants compare
+ * against a body with the array elements shuffled, the extended variants against shuffled elements that each
+ * have an additional field.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonComparisonBenchmark {
+
+    @Param({"medium", "large"})
+    public Bodies.Size size;
+
+    private JSONObject expected;
+    private ResponseEntity<String> ordered;
+    private ResponseEntity<String> unordered;
+    private ResponseEntity<String> extended;
+    private ResponseMatcher strict;
+    private ResponseMatcher lenient;
+
+    @Setup
+    public void setUp() throws JSONException {
+        String json = Bodies.json(size);
+        expected = new JSONObject(json);
+        ordered = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(new String(json));
+        unordered = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(shuffle(size, false));
+        extended = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(shuffle(size, true));
+        strict = content().json(json, true);
+        lenient = content().json(json);
+    }
+
+    private static String shuffle(Bodies.Size size, boolean extend) {
+        String json = Bodies.json(size);
+        String items = json.substring(json.indexOf('[') + 1, json.lastIndexOf(']'));
+        List<String> elements = new ArrayList<>(List.of(items.split(", (?=\\{)")));
+        if (extend) {
+            elements.replaceAll(element -> element.substring(0, element.length() - 1) + ", \"version\": 1}");
+        }
+        Collections.shuffle(elements, new Random(42));
+        return json.substring(0, json.indexOf('[') + 1) + String.join(", ", elements)
+            + json.substring(json.lastIndexOf(']'));
+    }
+
+    private void jsonAssert(ResponseEntity<String> response, JSONCompareMode mode) throws JSONException {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, new JSONObject(response.getBody()), mode);
+        if (result.failed()) {
+            throw new AssertionError(result.getMessage());
+        }
+    }
+
+    @Benchmark
+    public void strict() throws Exception {
+        strict.match(ordered);
+    }
+
+    @Benchmark
+    public void strictJsonAssert() throws Exception {
+        jsonAssert(ordered, JSONCompareMode.STRICT);
+    }
+
+    @Benchmark
+    public void lenient() throws Exception {
+        lenient.match(unordered);
+    }
+
+    @Benchmark
+    public void lenientJsonAssert() throws Exception {
+        jsonAssert(unordered, JSONCompareMode.LENIENT);
+    }
+
+    @Benchmark
+    public void lenientExtended() throws Exception {
+        lenient.match(extended);
+    }
+
+    @Benchmark
+    public void lenientExtendedJsonAssert() throws Exception {
+        jsonAssert(extended, JSONCompareMode.LENIENT);
+    }
+}
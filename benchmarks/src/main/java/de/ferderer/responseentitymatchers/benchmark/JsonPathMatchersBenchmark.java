@@ -0,0 +1,115 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.jsonPath;
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.jsonStream;
+import static org.hamcrest.Matchers.hasSize;
+import de.ferderer.responseentitymatchers.matcher.ResponseContext;
+import de.ferderer.responseentitymatchers.matcher.StreamingResponseMatcher;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cost of {@code jsonPath()} and {@code jsonStream()} assertions on a response body of the given size.
+ * The {@code *Shared} variants apply the assertion to a {@link ResponseContext} as
+ * {@link de.ferderer.responseentitymatchers.rest.ResponseActions} does, so that the body is parsed once
+ * for all assertions on the same response. {@code assertionsPerResponse} applies five assertions to the plain
+ * entity, parsing the body five times, and {@code assertionsPerResponseShared} applies them to a new context
+ * per invocation, parsing it once.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPathMatchersBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public Bodies.Size size;
+
+    private ResponseEntity<String> json;
+    private ResponseEntity<byte[]> jsonBytes;
+    private ResponseContext<String> shared;
+    private byte[] body;
+    private StreamingResponseMatcher streamCount;
+    private String last;
+
+    @Setup
+    public void setUp() {
+        json = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Bodies.json(size));
+        jsonBytes = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Bodies.jsonBytes(size));
+        shared = ResponseContext.of(json);
+        body = Bodies.jsonBytes(size);
+        streamCount = jsonStream().count("$.items", size.items());
+        last = "$.items[" + (size.items() - 1) + "].username";
+    }
+
+    @Benchmark
+    public void value() throws Exception {
+        jsonPath("$.items[0].username").value("user0").match(json);
+    }
+
+    @Benchmark
+    public void valueOfLastItem() throws Exception {
+        jsonPath(last).value("user" + (size.items() - 1)).match(json);
+    }
+
+    @Benchmark
+    public void valueOfBytes() throws Exception {
+        jsonPath("$.items[0].username").value("user0").match(jsonBytes);
+    }
+
+    @Benchmark
+    public void valueShared() throws Exception {
+        jsonPath("$.items[0].username").value("user0").match(shared);
+    }
+
+    @Benchmark
+    public void assertionsPerResponse() throws Exception {
+        assertFive(json);
+    }
+
+    @Benchmark
+    public void assertionsPerResponseShared() throws Exception {
+        assertFive(new ResponseContext<>(json));
+    }
+
+    private void assertFive(ResponseEntity<String> response) throws Exception {
+        jsonPath("$.items[0].username").value("user0").match(response);
+        jsonPath("$.items[0].active").value(true).match(response);
+        jsonPath(last).value("user" + (size.items() - 1)).match(response);
+        jsonPath("$.items", hasSize(size.items())).match(response);
+        jsonPath("$.total").value(size.items()).match(response);
+    }
+
+    @Benchmark
+    public void exists() throws Exception {
+        jsonPath("$.total").exists().match(json);
+    }
+
+    @Benchmark
+    public void arraySize() throws Exception {
+        jsonPath("$.items", hasSize(size.items())).match(json);
+    }
+
+    @Benchmark
+    public void streamCount() throws Exception {
+        streamCount.match(json, new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,106 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import de.ferderer.responseentitymatchers.rest.RequestBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Full {@link RequestBuilder#perform()} round-trip against the embedded {@link BenchmarkApp},
+ * including the assertions a typical integration test applies to the response.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public Bodies.Size size;
+
+    private ConfigurableApplicationContext context;
+    private TestRestTemplate client;
+    private String baseUrl;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(BenchmarkApp.class)
+            .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn")
+            .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = new TestRestTemplate(new RestTemplateBuilder());
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> testApp() throws Exception {
+        return get("/test/ok").perform()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("John Doe"))
+            .andReturn();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> json() throws Exception {
+        return get("/bench/{size}", size).perform()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(size.items()))
+            .andExpect(jsonPath("$.items[0].username").value("user0"))
+            .andReturn();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> jsonAsBytes() throws Exception {
+        return get("/bench/{size}", size).bodyAsBytes().perform()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(size.items()))
+            .andExpect(jsonPath("$.items[0].username").value("user0"))
+            .andReturn();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> jsonStreaming() throws Exception {
+        return get("/bench/{size}", size).perform(jsonStream().count("$.items", size.items()))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> xml() throws Exception {
+        return get("/bench/{size}/xml", size).perform()
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/xml"))
+            .andReturn();
+    }
+
+    private RequestBuilder get(String url, Object... vars) {
+        return new RequestBuilder(client, HttpMethod.GET, baseUrl + url, vars);
+    }
+}
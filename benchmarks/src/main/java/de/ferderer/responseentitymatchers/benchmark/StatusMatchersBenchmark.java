@@ -0,0 +1,48 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.status;
+import static org.hamcrest.Matchers.equalTo;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cost of {@code status()} assertions, which do not depend on the body size.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusMatchersBenchmark {
+
+    private final ResponseEntity<String> response = ResponseEntity.ok("");
+
+    @Benchmark
+    public void isOk() throws Exception {
+        status().isOk().match(response);
+    }
+
+    @Benchmark
+    public void is2xxSuccessful() throws Exception {
+        status().is2xxSuccessful().match(response);
+    }
+
+    @Benchmark
+    public void isMatcher() throws Exception {
+        status().is(equalTo(HttpStatus.OK)).match(response);
+    }
+}
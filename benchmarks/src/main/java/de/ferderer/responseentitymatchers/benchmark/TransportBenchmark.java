@@ -0,0 +1,109 @@
+package de.ferderer.responseentitymatchers.benchmark;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import de.ferderer.responseentitymatchers.rest.RequestBuilder;
+import de.ferderer.responseentitymatchers.transport.ConnectionPoolSettings;
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import de.ferderer.responseentitymatchers.transport.JdkHttpTransport;
+import de.ferderer.responseentitymatchers.transport.MockMvcTransport;
+import de.ferderer.responseentitymatchers.transport.PooledHttpTransport;
+import de.ferderer.responseentitymatchers.transport.RestTemplateTransport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Compares the {@link de.ferderer.responseentitymatchers.transport.HttpTransport} implementations on the same
+ * {@link RequestBuilder#perform()} round-trip, from a single thread and from eight threads sharing the transport.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"rest-template", "jdk", "pooled", "mock-mvc"})
+    public String transport;
+
+    @Param({"small", "large"})
+    public Bodies.Size size;
+
+    private ConfigurableApplicationContext context;
+    private HttpTransport httpTransport;
+    private String baseUrl;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(BenchmarkApp.class)
+            .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn")
+            .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        TestRestTemplate client = new TestRestTemplate(new RestTemplateBuilder());
+        httpTransport = switch (transport) {
+            case "rest-template" -> new RestTemplateTransport(client);
+            case "jdk" -> new JdkHttpTransport(client);
+            case "pooled" -> new PooledHttpTransport(client, ConnectionPoolSettings.defaults());
+            case "mock-mvc" -> new MockMvcTransport((WebApplicationContext) context,
+                client.getRestTemplate().getMessageConverters());
+            default -> throw new IllegalArgumentException(transport);
+        };
+    }
+
+    @TearDown
+    public void stop() throws Exception {
+        if (httpTransport instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> json() throws Exception {
+        return perform();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ResponseEntity<?> jsonConcurrent() throws Exception {
+        return perform();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> jsonStreaming() throws Exception {
+        return new RequestBuilder(httpTransport, HttpMethod.GET, baseUrl + "/bench/{size}", size)
+            .perform(jsonStream().count("$.items", size.items()))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+
+    private ResponseEntity<?> perform() throws Exception {
+        return new RequestBuilder(httpTransport, HttpMethod.GET, baseUrl + "/bench/{size}", size).perform()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(size.items()))
+            .andReturn();
+    }
+}
@@ -0,0 +1,122 @@
+package de.ferderer.responseentitymatchers;
+
+import de.ferderer.responseentitymatchers.rest.AsyncResponseActions;
+import de.ferderer.responseentitymatchers.rest.BatchResponseActions;
+import de.ferderer.responseentitymatchers.rest.RequestBuilder;
+import de.ferderer.responseentitymatchers.rest.ResponseActions;
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Request builders and perform methods shared by {@link WebTestBase}, which tests the application of a Spring
+ * context, and {@link ExternalWebTestBase}, which tests external servers without any context.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public abstract class AbstractWebTestBase {
+
+    /**
+     * Returns the transport sending the requests.
+     */
+    protected abstract HttpTransport transport();
+
+    /**
+     * Turns a relative request url into an absolute one, absolute urls are returned unchanged.
+     */
+    protected abstract String fixUrl(String url);
+
+    /**
+     * Returns the maximum number of requests in flight in {@code performAll(...)}.
+     */
+    protected abstract int parallelism();
+
+    /**
+     * Executes the request and returns fluent interface for assertion chaining.
+     */
+    public ResponseActions perform(RequestBuilder builder) throws Exception {
+        return builder.perform();
+    }
+
+    /**
+     * Executes the request asynchronously on a virtual thread and returns a future for assertion chaining.
+     */
+    public AsyncResponseActions performAsync(RequestBuilder builder) {
+        return builder.performAsync();
+    }
+
+    /**
+     * Executes all requests concurrently and returns their results in input order for assertion chaining.
+     * At most {@link #parallelism()} requests are in flight at the same time, so that the server is not
+     * overloaded.
+     */
+    public BatchResponseActions performAll(RequestBuilder... builders) throws Exception {
+        return performAll(parallelism(), Arrays.asList(builders));
+    }
+
+    /**
+     * Executes all requests concurrently and returns their results in input order for assertion chaining.
+     * At most {@link #parallelism()} requests are in flight at the same time.
+     */
+    public BatchResponseActions performAll(List<RequestBuilder> builders) throws Exception {
+        return performAll(parallelism(), builders);
+    }
+
+    /**
+     * Executes all requests with at most {@code parallelism} of them in flight at the same time.
+     */
+    public BatchResponseActions performAll(int parallelism, List<RequestBuilder> builders) throws Exception {
+        return BatchResponseActions.perform(builders, parallelism);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for a GET request.
+     */
+    public RequestBuilder get(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.GET, fixUrl(url), vars);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for a POST request.
+     */
+    public RequestBuilder post(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.POST, fixUrl(url), vars);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for a PUT request.
+     */
+    public RequestBuilder put(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.PUT, fixUrl(url), vars);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for a DELETE request.
+     */
+    public RequestBuilder delete(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.DELETE, fixUrl(url), vars);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for a PATCH request.
+     */
+    public RequestBuilder patch(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.PATCH, fixUrl(url), vars);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for a HEAD request.
+     */
+    public RequestBuilder head(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.HEAD, fixUrl(url), vars);
+    }
+
+    /**
+     * Creates {@link RequestBuilder} for an OPTIONS request.
+     */
+    public RequestBuilder options(String url, Object... vars) {
+        return new RequestBuilder(transport(), HttpMethod.OPTIONS, fixUrl(url), vars);
+    }
+}
@@ -0,0 +1,109 @@
+package de.ferderer.responseentitymatchers;
+
+import de.ferderer.responseentitymatchers.replay.ReplayTransport;
+import de.ferderer.responseentitymatchers.replay.ResponseStore;
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import de.ferderer.responseentitymatchers.transport.JdkHttpTransport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Base class for tests against external servers, e.g. smoke tests of a deployed service. Provides the same
+ * request builders and matchers as {@link WebTestBase}, but boots neither a Spring context nor an embedded server,
+ * so that tests start within milliseconds. Requests are sent with the JDK {@link java.net.http.HttpClient} shared
+ * by all test classes.
+ *
+ * <pre class="code">
+ * class StagingSmokeTest extends ExternalWebTestBase {
+ *     &#64;Test
+ *     void health() throws Exception {
+ *         perform(get("/actuator/health")).andExpect(status().isOk());
+ *     }
+ * }
+ * </pre>
+ *
+ * Relative urls are prepended with the base url set via system property testing.base-url, e.g.
+ * {@code -Dtesting.base-url=https://staging.example.com}, or by overriding {@link #baseUrl()}.
+ *
+ * If system property testing.replay-store, or an override of {@link #replayStore()}, points to a
+ * {@link ResponseStore}, no requests are sent at all and the recorded responses are replayed instead.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public abstract class ExternalWebTestBase extends AbstractWebTestBase {
+
+    /**
+     * Replay transports by store directory, shared by all test classes.
+     */
+    private static final Map<String, HttpTransport> replayTransports = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the base url prepended to relative request urls, by default the system property testing.base-url.
+     */
+    protected String baseUrl() {
+        String baseUrl = System.getProperty("testing.base-url");
+        if (baseUrl == null && replayStore() != null) {
+            return "http://localhost";
+        }
+        if (baseUrl == null) {
+            throw new IllegalStateException("No base url for relative request urls, set system property "
+                + "testing.base-url or override baseUrl()");
+        }
+        return baseUrl;
+    }
+
+    /**
+     * Returns the directory of the {@link ResponseStore} to replay responses from, by default the system property
+     * testing.replay-store, or {@code null} to send the requests.
+     */
+    protected String replayStore() {
+        return System.getProperty("testing.replay-store");
+    }
+
+    @Override
+    protected String fixUrl(String url) {
+        return url.startsWith("http") ? url : baseUrl() + url;
+    }
+
+    /**
+     * Returns the transport sending the requests, or replaying them from the {@link #replayStore()}.
+     * Override to use another client.
+     */
+    @Override
+    protected HttpTransport transport() {
+        String replayStore = replayStore();
+        return replayStore != null
+            ? replayTransports.computeIfAbsent(replayStore, ExternalWebTestBase::replayTransport)
+            : DefaultTransport.instance;
+    }
+
+    /**
+     * Returns the maximum number of requests in flight, configured via system property testing.parallelism
+     * (8 by default).
+     */
+    @Override
+    protected int parallelism() {
+        return Integer.getInteger("testing.parallelism", 8);
+    }
+
+    private static HttpTransport replayTransport(String directory) {
+        try {
+            return new ReplayTransport(new ResponseStore(Path.of(directory)));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open response store " + directory, ex);
+        }
+    }
+
+    /**
+     * Lazily created transport converting bodies with the default message converters of a {@link RestTemplate}.
+     */
+    private static class DefaultTransport {
+        static final HttpTransport instance = new JdkHttpTransport(new RestTemplate().getMessageConverters());
+    }
+}
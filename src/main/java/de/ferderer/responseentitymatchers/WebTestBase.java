@@ -1,26 +1,73 @@
 package de.ferderer.responseentitymatchers;
 
-import de.ferderer.responseentitymatchers.rest.RequestBuilder;
-import de.ferderer.responseentitymatchers.rest.ResponseActions;
+import de.ferderer.responseentitymatchers.transport.ConnectionPoolSettings;
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import de.ferderer.responseentitymatchers.transport.JdkHttpTransport;
+import de.ferderer.responseentitymatchers.transport.MockMvcTransport;
+import de.ferderer.responseentitymatchers.transport.PooledHttpTransport;
+import de.ferderer.responseentitymatchers.transport.RestTemplateTransport;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.http.HttpMethod;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.context.WebApplicationContext;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-public abstract class WebTestBase {
+public abstract class WebTestBase extends AbstractWebTestBase {
+
+    /**
+     * Transports by application context, shared by all test classes using the context.
+     */
+    private static final Map<ConfigurableApplicationContext, HttpTransport> transports =
+        Collections.synchronizedMap(new WeakHashMap<>());
 
     @Value("${testing.default-base-url:http://localhost}")
     private String defaultBaseUrl;
 
-    @LocalServerPort
+    @Value("${testing.parallelism:8}")
+    private int parallelism;
+
+    @Value("${testing.transport:rest-template}")
+    private String transportName;
+
+    @Value("${testing.http.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${testing.http.max-connections-per-route:64}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${testing.http.keep-alive:30s}")
+    private Duration keepAlive;
+
+    @Value("${testing.http.validate-after-inactivity:2s}")
+    private Duration validateAfterInactivity;
+
+    private HttpTransport transport;
+
+    /**
+     * Port of the embedded server, 0 if running with a mock web environment.
+     */
+    @Value("${local.server.port:0}")
     protected int port;
 
-    @Autowired
+    /**
+     * Client of the embedded server, {@code null} if running with a mock web environment.
+     */
+    @Autowired(required = false)
     protected TestRestTemplate client;
 
+    @Autowired
+    private ConfigurableApplicationContext context;
+
     /**
      * Prepends the supplied url with the default hostname and port if missing. You may provide your own hostname
      * instead of localhost via property testing.default-base-url. Port number is selected randomly and will be
@@ -28,63 +75,73 @@ public abstract class WebTestBase {
      *
      * Note, that you may also test external servers simply providing complete urls.
      */
+    @Override
     protected String fixUrl(String url) {
         return url.startsWith("http") ? url : defaultBaseUrl + ':' + port + url;
     }
 
     /**
-     * Executes the request and returns fluent interface for assertion chaining.
-     */
-    public ResponseActions perform(RequestBuilder builder) throws Exception {
-        return builder.perform();
-    }
-
-    /**
-     * Creates {@link RequestBuilder} for a GET request.
-     */
-    public RequestBuilder get(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.GET, fixUrl(url), vars);
-    }
-
-    /**
-     * Creates {@link RequestBuilder} for a POST request.
-     */
-    public RequestBuilder post(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.POST, fixUrl(url), vars);
-    }
-
-    /**
-     * Creates {@link RequestBuilder} for a PUT request.
+     * Returns the transport used by the request builders of this class, selected via property testing.transport:
+     * {@code rest-template} (default) sends requests with the {@link TestRestTemplate}, {@code jdk} with the
+     * JDK {@link java.net.http.HttpClient} and {@code pooled} with Apache HttpClient over a pool of keep-alive
+     * connections configured via the testing.http.* properties. {@code mock-mvc} dispatches requests in-process
+     * via MockMvc; combined with {@code @SpringBootTest(webEnvironment = MOCK)} no server is started at all.
+     *
+     * The transport is shared by all test classes running in the same application context and closed with it.
+     * Override to plug in a custom transport.
      */
-    public RequestBuilder put(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.PUT, fixUrl(url), vars);
+    @Override
+    protected HttpTransport transport() {
+        if (transport == null) {
+            transport = transports.computeIfAbsent(context, key -> createTransport());
+        }
+        return transport;
     }
 
     /**
-     * Creates {@link RequestBuilder} for a DELETE request.
+     * Returns the maximum number of requests in flight, configured via property testing.parallelism (8 by default).
      */
-    public RequestBuilder delete(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.DELETE, fixUrl(url), vars);
+    @Override
+    protected int parallelism() {
+        return parallelism;
     }
 
-    /**
-     * Creates {@link RequestBuilder} for a PATCH request.
-     */
-    public RequestBuilder patch(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.PATCH, fixUrl(url), vars);
+    private HttpTransport createTransport() {
+        if (client == null && !transportName.equals("mock-mvc")) {
+            throw new IllegalStateException("Transport " + transportName
+                + " requires an embedded server, use transport mock-mvc with a mock web environment");
+        }
+        HttpTransport created = switch (transportName) {
+            case "rest-template" -> new RestTemplateTransport(client);
+            case "jdk" -> new JdkHttpTransport(client);
+            case "pooled" -> new PooledHttpTransport(client, new ConnectionPoolSettings(maxConnections,
+                maxConnectionsPerRoute, keepAlive, validateAfterInactivity));
+            case "mock-mvc" -> new MockMvcTransport((WebApplicationContext) context, messageConverters());
+            default -> throw new IllegalStateException("Unknown transport: " + transportName);
+        };
+        if (created instanceof AutoCloseable closeable) {
+            context.addApplicationListener(event -> {
+                if (event instanceof ContextClosedEvent) {
+                    close(closeable);
+                }
+            });
+        }
+        return created;
     }
 
-    /**
-     * Creates {@link RequestBuilder} for a HEAD request.
-     */
-    public RequestBuilder head(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.HEAD, fixUrl(url), vars);
+    private List<HttpMessageConverter<?>> messageConverters() {
+        return client != null
+            ? client.getRestTemplate().getMessageConverters()
+            : context.getBeanProvider(RestTemplateBuilder.class).getIfAvailable(RestTemplateBuilder::new)
+                .build().getMessageConverters();
     }
 
-    /**
-     * Creates {@link RequestBuilder} for an OPTIONS request.
-     */
-    public RequestBuilder options(String url, Object... vars) {
-        return new RequestBuilder(client, HttpMethod.OPTIONS, fixUrl(url), vars);
+    private static void close(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        }
+        catch (Exception ex) {
+            // the server is going down anyway
+        }
     }
 }
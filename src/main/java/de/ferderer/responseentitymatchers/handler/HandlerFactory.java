@@ -1,5 +1,6 @@
 package de.ferderer.responseentitymatchers.handler;
 
+import de.ferderer.responseentitymatchers.replay.ResponseStore;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
@@ -34,6 +35,14 @@ public class HandlerFactory {
         return new Printer(new PrintWriter(writer, true));
     }
 
+    /**
+     * Record the response into the supplied store, so that it can be replayed later via
+     * {@link de.ferderer.responseentitymatchers.replay.ReplayTransport}.
+     */
+    public static ResponseHandler record(ResponseStore store) {
+        return store::record;
+    }
+
     /**
      * Printer class that writes to a {@link PrintWriter}.
      */
@@ -51,7 +60,8 @@ public class HandlerFactory {
             result.getHeaders().forEach((name, values) ->
                 values.forEach(value -> printWriter.println(name + ": " + value)));
             printWriter.println();
-            printWriter.println(result.getBody());
+            Object body = result.getBody();
+            printWriter.println(body instanceof byte[] bytes ? "<" + bytes.length + " bytes>" : body);
         }
     }
 
@@ -0,0 +1,125 @@
+package de.ferderer.responseentitymatchers.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of latencies with nanosecond resolution and a relative error below 0.1%.
+ *
+ * <p>Values below 1024 ns are counted exactly, larger values in 1024 linear sub-buckets per power of two.
+ * Recording is lock-free and allocation-free, so it can be shared by all threads of a load test. Values above
+ * the highest trackable value of about 146 minutes are counted in the last bucket.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 10;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 42;
+    private static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a single latency.
+     */
+    public void record(Duration latency) {
+        record(latency.toNanos());
+    }
+
+    /**
+     * Record a single latency given in nanoseconds. Negative values are counted as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(Math.min(value, MAX_VALUE)));
+        count.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Number of recorded latencies.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Smallest recorded latency, zero if nothing was recorded.
+     */
+    public Duration min() {
+        return count() == 0 ? Duration.ZERO : Duration.ofNanos(min.get());
+    }
+
+    /**
+     * Largest recorded latency, zero if nothing was recorded.
+     */
+    public Duration max() {
+        return Duration.ofNanos(max.get());
+    }
+
+    /**
+     * Arithmetic mean of the recorded latencies, zero if nothing was recorded.
+     */
+    public Duration mean() {
+        long n = count();
+        return n == 0 ? Duration.ZERO : Duration.ofNanos(sum.sum() / n);
+    }
+
+    /**
+     * Latency at the given percentile, e.g. {@code 99.9}. The upper bound of the bucket is reported,
+     * so the result is never lower than the exact percentile of the recorded values.
+     */
+    public Duration percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long n = count();
+        if (n == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(upperBound(i), max.get()));
+            }
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count() + ", min=" + min() + ", p50=" + percentile(50) + ", p99=" + percentile(99)
+            + ", max=" + max() + ", mean=" + mean();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS * (shift + 1) + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long lowerBound = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,74 @@
+package de.ferderer.responseentitymatchers.load;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Aggregate result of a load test: the latency histogram of all measured requests, the number of failed
+ * requests with a sample of their errors, and the elapsed wall-clock time.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class LoadTestResult {
+
+    private final LatencyHistogram histogram;
+    private final long errorCount;
+    private final List<Throwable> errorSamples;
+    private final Duration elapsed;
+
+    public LoadTestResult(LatencyHistogram histogram, long errorCount, List<Throwable> errorSamples, Duration elapsed) {
+        this.histogram = histogram;
+        this.errorCount = errorCount;
+        this.errorSamples = List.copyOf(errorSamples);
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Latencies of all measured requests, failed ones included.
+     */
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * Number of measured requests.
+     */
+    public long count() {
+        return histogram.count();
+    }
+
+    /**
+     * Number of requests that threw an exception or failed one of the per-response expectations.
+     */
+    public long errorCount() {
+        return errorCount;
+    }
+
+    /**
+     * The first few errors, in the order they occurred.
+     */
+    public List<Throwable> errorSamples() {
+        return errorSamples;
+    }
+
+    /**
+     * Wall-clock time of the measured part of the load test.
+     */
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Measured requests per second.
+     */
+    public double throughput() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : count() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return histogram + ", errors=" + errorCount + ", elapsed=" + elapsed;
+    }
+}
@@ -0,0 +1,146 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import org.hamcrest.Matcher;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Assertion on a value computed incrementally over the raw response bytes: the size, a CRC-32 checksum or a
+ * SHA-256 digest. It can be applied to a performed response like any {@link ResponseMatcher}, or as
+ * {@link StreamingResponseMatcher} while the body is read from the connection, without buffering or decoding it.
+ *
+ * <pre class="code">
+ * get("/reports/2024.pdf")
+ *   .perform(content().sha256("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"))
+ *   .andExpect(status().isOk());
+ * </pre>
+ *
+ * <p>Instances are created via {@link ContentMatchers#sha256(String)}, {@link ContentMatchers#crc32(long)} and
+ * {@link ContentMatchers#size(long)}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class ContentDigestMatcher implements ResponseMatcher, StreamingResponseMatcher {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String description;
+    private final Supplier<Accumulator> accumulator;
+    private final Matcher<Object> matcher;
+
+    @SuppressWarnings("unchecked")
+    ContentDigestMatcher(String description, Supplier<Accumulator> accumulator, Matcher<?> matcher) {
+        this.description = description;
+        this.accumulator = accumulator;
+        this.matcher = (Matcher<Object>) matcher;
+    }
+
+    /**
+     * Assert the value computed over the response body. Binary bodies are used as is, String bodies are
+     * encoded using the charset of the content type; a missing body counts as empty. Bodies written to a file
+     * are read like {@link FileMatchers} do, via memory-mapped buffers.
+     */
+    @Override
+    public void match(ResponseEntity<?> response) throws IOException {
+        if (response.getBody() instanceof Path file) {
+            assertThat("Response content " + description, FileMatchers.digest(file, accumulator), matcher);
+            return;
+        }
+        Accumulator value = accumulator.get();
+        byte[] body = ResponseEntityUtils.getBodyAsBytes(response);
+        if (body != null) {
+            value.update(ByteBuffer.wrap(body));
+        }
+        assertValue(value);
+    }
+
+    /**
+     * Assert the value computed over the response body stream.
+     */
+    @Override
+    public void match(ResponseEntity<?> response, InputStream body) throws IOException {
+        Accumulator value = accumulator.get();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            value.update(ByteBuffer.wrap(buffer, 0, read));
+        }
+        assertValue(value);
+    }
+
+    private void assertValue(Accumulator value) {
+        assertThat("Response content " + description, value.result(), matcher);
+    }
+
+    static Accumulator size() {
+        return new Accumulator() {
+            private long size;
+
+            @Override
+            public void update(ByteBuffer bytes) {
+                size += bytes.remaining();
+            }
+
+            @Override
+            public Object result() {
+                return size;
+            }
+        };
+    }
+
+    static Accumulator crc32() {
+        CRC32 crc = new CRC32();
+        return new Accumulator() {
+            @Override
+            public void update(ByteBuffer bytes) {
+                crc.update(bytes);
+            }
+
+            @Override
+            public Object result() {
+                return crc.getValue();
+            }
+        };
+    }
+
+    static Accumulator sha256() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return new Accumulator() {
+            @Override
+            public void update(ByteBuffer bytes) {
+                digest.update(bytes);
+            }
+
+            @Override
+            public Object result() {
+                return HexFormat.of().formatHex(digest.digest());
+            }
+        };
+    }
+
+    /**
+     * Incremental computation of the asserted value.
+     */
+    interface Accumulator {
+
+        void update(ByteBuffer bytes);
+
+        Object result();
+    }
+}
@@ -4,11 +4,13 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.springframework.test.util.AssertionErrors.assertEquals;
 import static org.springframework.test.util.AssertionErrors.assertNotNull;
 import static org.springframework.test.util.AssertionErrors.assertTrue;
+import java.nio.file.Path;
+import java.util.Locale;
 import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matcher;
-import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.http.MediaType;
-import org.springframework.test.util.XmlExpectationsHelper;
 import org.w3c.dom.Node;
 
 /**
@@ -20,8 +22,6 @@ import org.w3c.dom.Node;
  */
 public class ContentMatchers {
 
-	private static final XmlExpectationsHelper xmlHelper = new XmlExpectationsHelper();
-
     /**
      * Protected constructor, not for direct instantiation.
      * Use {@link MatcherFactory#content()}.
@@ -83,7 +83,46 @@ public class ContentMatchers {
      * Assert the response body
      */
     public ResponseMatcher string(String expectedContent) {
-        return result -> assertEquals("Response content", expectedContent, result.getBody());
+        return result -> assertEquals("Response content", expectedContent, ResponseEntityUtils.getBody(result));
+    }
+
+    /**
+     * Assert the response body content as a byte array.
+     * Binary bodies are compared as is, String bodies are encoded using the charset of the content type.
+     */
+    public ResponseMatcher bytes(byte[] expectedContent) {
+        return result -> assertEquals("Response content", expectedContent, ResponseEntityUtils.getBodyAsBytes(result));
+    }
+
+    /**
+     * Assert the SHA-256 digest of the response body, given as hex string. The digest is computed over the raw
+     * bytes; apply the matcher via {@code perform(content().sha256(...))} to compute it while the body is read
+     * from the connection, without buffering it.
+     */
+    public ContentDigestMatcher sha256(String expectedHex) {
+        return new ContentDigestMatcher("SHA-256", ContentDigestMatcher::sha256,
+            CoreMatchers.equalTo(expectedHex.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Assert the CRC-32 checksum of the response body, see {@link #sha256(String)}.
+     */
+    public ContentDigestMatcher crc32(long expectedChecksum) {
+        return new ContentDigestMatcher("CRC-32", ContentDigestMatcher::crc32, CoreMatchers.equalTo(expectedChecksum));
+    }
+
+    /**
+     * Assert the size of the response body in bytes, see {@link #sha256(String)}.
+     */
+    public ContentDigestMatcher size(long expectedSize) {
+        return size(CoreMatchers.equalTo(expectedSize));
+    }
+
+    /**
+     * Assert the size of the response body in bytes with a Hamcrest {@link Matcher}.
+     */
+    public ContentDigestMatcher size(Matcher<? super Long> matcher) {
+        return new ContentDigestMatcher("size", ContentDigestMatcher::size, matcher);
     }
 
 	/**
@@ -93,14 +132,15 @@ public class ContentMatchers {
 	 * <p>Use of this matcher requires the <a href="https://www.xmlunit.org/">XMLUnit</a> library.
 	 */
 	public ResponseMatcher xml(String xmlContent) {
-		return result -> xmlHelper.assertXmlEqual(xmlContent, ResponseEntityUtils.getBody(result));
+		XmlExpectations.ExpectedDocument expected = XmlExpectations.expected(xmlContent);
+		return result -> expected.assertSimilar(ResponseEntityUtils.getXmlDocument(result));
 	}
 
 	/**
 	 * Parse the response content as {@link Node} and apply the given Hamcrest {@link Matcher}.
 	 */
 	public ResponseMatcher node(Matcher<? super Node> matcher) {
-		return result -> xmlHelper.assertNode(ResponseEntityUtils.getBody(result), matcher);
+		return result -> assertThat("Body content", ResponseEntityUtils.getXmlDocument(result), matcher);
 	}
 
 	/**
@@ -108,7 +148,7 @@ public class ContentMatchers {
 	 * @see <a href="https://code.google.com/p/xml-matchers/">xml-matchers</a>
 	 */
 	public ResponseMatcher source(Matcher<? super Source> matcher) {
-		return result -> xmlHelper.assertSource(ResponseEntityUtils.getBody(result), matcher);
+		return result -> assertThat("Body content", new DOMSource(ResponseEntityUtils.getXmlDocument(result)), matcher);
 	}
 
 	/**
@@ -129,9 +169,37 @@ public class ContentMatchers {
      *   <li>{@code false}: lenient checking. Extensible, and non-strict array ordering.</li>
      * </ul>
      *
-     * Usage of this matcher requires the <a href="https://jsonassert.skyscreamer.org/">JSONassert</a> library.
+     * The comparison follows the semantics of <a href="https://jsonassert.skyscreamer.org/">JSONassert</a>
+     * and reuses the JSON document shared with the JSON path matchers, so usage of this matcher requires the
+     * <a href="https://github.com/jayway/JsonPath">JsonPath</a> library.
      */
     public ResponseMatcher json(String jsonContent, boolean strict) {
-        return result -> JSONAssert.assertEquals(jsonContent, ResponseEntityUtils.getBody(result), strict);
+        JsonComparator comparator = JsonComparator.of(strict);
+        Object expected = JsonComparator.parseExpected(jsonContent);
+        return result -> comparator.assertEquals(expected, ResponseEntityUtils.getJsonDocument(result));
+    }
+
+    /**
+     * Assert the response body matches the approved snapshot of the given name, e.g. {@code "orders/list"}.
+     * The digests of body and snapshot are compared first, the full comparison runs only if they differ:
+     * JSON bodies are compared strictly but regardless of formatting and field order, XML bodies like
+     * {@link #xml(String)}, text bodies as String.
+     *
+     * <p>Snapshots are stored under {@code src/test/resources/snapshots}, with an extension derived from the content
+     * type. A missing snapshot is created from the current body. Set system property
+     * {@code testing.snapshot-mode} to {@code update} to overwrite mismatching snapshots, or to {@code verify} to
+     * fail on missing ones, and {@code testing.snapshot-dir} to use another directory.
+     * The properties are read when the matcher is created.
+     */
+    public ResponseMatcher matchesSnapshot(String name) {
+        return matchesSnapshot(name, SnapshotExpectations.directory(), SnapshotExpectations.mode());
+    }
+
+    /**
+     * Assert the response body matches the snapshot of the given name in the given directory, see
+     * {@link #matchesSnapshot(String)}.
+     */
+    ResponseMatcher matchesSnapshot(String name, Path directory, SnapshotExpectations.Mode mode) {
+        return result -> SnapshotExpectations.assertMatchesSnapshot(name, directory, mode, result);
     }
 }
@@ -0,0 +1,84 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe cache of compiled expressions and parsed expected documents. When the cache is full
+ * the least recently used entry is evicted. Hit and miss counters allow to check how effective the cache is in a particular test suite.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class ExpressionCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    ExpressionCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Return the cached value for the key, compiling and caching it on a miss. The value is compiled without
+     * holding the lock, so that a slow compilation, e.g. of a large document, does not block lookups of other
+     * keys. Threads missing the same key at the same time may each compile it, the first value cached wins.
+     */
+    V get(K key, Function<? super K, ? extends V> compiler) {
+        synchronized (entries) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+        }
+        misses.increment();
+        V value = compiler.apply(key);
+        synchronized (entries) {
+            V cached = entries.putIfAbsent(key, value);
+            return cached != null ? cached : value;
+        }
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups that required compiling the expression.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of currently cached expressions.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Remove all cached expressions and reset the counters.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            hits.reset();
+            misses.reset();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.util.AssertionErrors.fail;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.Matcher;
+import org.springframework.http.HttpEntity;
+
+/**
+ * Factory for assertions on response bodies written to a temporary file, see
+ * {@code RequestBuilder.bodyToFile()}. The file is read through memory-mapped buffers in chunks, so
+ * neither its size nor its digest require copying the content to the heap, and byte ranges are read
+ * without touching the rest of the file.
+ *
+ * <pre class="code">
+ * get("/reports/annual").bodyToFile().perform()
+ *   .andExpect(file().size(greaterThan(1L &lt;&lt; 30)))
+ *   .andExpect(file().bytes(0, "%PDF".getBytes(US_ASCII)));
+ * </pre>
+ *
+ * <p>An instance of this class is typically accessed via {@link MatcherFactory#file()}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class FileMatchers {
+
+    /**
+     * Size of the regions mapped at once, small enough to be mapped on 32-bit address spaces.
+     */
+    private static final long MAP_SIZE = 64L << 20;
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#file()}.
+     */
+    protected FileMatchers() {}
+
+    /**
+     * Assert the size of the response file in bytes.
+     */
+    public ResponseMatcher size(long expectedSize) {
+        return size(CoreMatchers.equalTo(expectedSize));
+    }
+
+    /**
+     * Assert the size of the response file in bytes with a Hamcrest {@link Matcher}.
+     */
+    public ResponseMatcher size(Matcher<? super Long> matcher) {
+        return result -> assertThat("Response file size", Files.size(getFile(result)), matcher);
+    }
+
+    /**
+     * Assert the SHA-256 digest of the response file, given as hex string.
+     */
+    public ResponseMatcher sha256(String expectedHex) {
+        return result -> assertEquals("Response file SHA-256", expectedHex.toLowerCase(Locale.ROOT),
+            digest(getFile(result), ContentDigestMatcher::sha256));
+    }
+
+    /**
+     * Assert the CRC-32 checksum of the response file.
+     */
+    public ResponseMatcher crc32(long expectedChecksum) {
+        return result -> assertEquals("Response file CRC-32", expectedChecksum,
+            digest(getFile(result), ContentDigestMatcher::crc32));
+    }
+
+    /**
+     * Assert the bytes of the response file starting at the given offset, e.g. a magic number or a trailer.
+     */
+    public ResponseMatcher bytes(long offset, byte[] expectedContent) {
+        return result -> {
+            Path file = getFile(result);
+            long size = Files.size(file);
+            assertTrue("Response file has " + size + " bytes, expected at least " + (offset + expectedContent.length),
+                offset >= 0 && offset + expectedContent.length <= size);
+            byte[] actual = new byte[expectedContent.length];
+            read(file, offset, actual.length, new Consumer<>() {
+                private int position;
+
+                @Override
+                public void accept(ByteBuffer buffer) {
+                    int length = buffer.remaining();
+                    buffer.get(actual, position, length);
+                    position += length;
+                }
+            });
+            assertEquals("Response file content at offset " + offset, HexFormat.of().formatHex(expectedContent),
+                HexFormat.of().formatHex(actual));
+        };
+    }
+
+    /**
+     * Compute a digest over the whole file.
+     */
+    static Object digest(Path file, Supplier<ContentDigestMatcher.Accumulator> accumulator) throws IOException {
+        ContentDigestMatcher.Accumulator value = accumulator.get();
+        read(file, 0, Files.size(file), value::update);
+        return value.result();
+    }
+
+    /**
+     * Pass the given region of the file to the consumer as a sequence of memory-mapped buffers.
+     */
+    private static void read(Path file, long position, long length, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (length > 0) {
+                long chunk = Math.min(length, MAP_SIZE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, chunk);
+                consumer.accept(buffer);
+                position += chunk;
+                length -= chunk;
+            }
+        }
+    }
+
+    private static Path getFile(HttpEntity<?> result) {
+        if (result.getBody() instanceof Path file) {
+            return file;
+        }
+        fail("Response body was not written to a file, use bodyToFile() on the request");
+        return null;
+    }
+}
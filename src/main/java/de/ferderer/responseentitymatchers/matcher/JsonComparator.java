@@ -0,0 +1,482 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.springframework.test.util.AssertionErrors.fail;
+import com.jayway.jsonpath.Configuration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import net.minidev.json.JSONValue;
+
+/**
+ * Structural comparison of JSON documents with the semantics of
+ * <a href="https://jsonassert.skyscreamer.org/">JSONassert</a>, evaluated on the JSON tree that is shared
+ * with the JSON path matchers instead of re-parsing both documents with org.json.
+ *
+ * <ul>
+ *   <li>Strict: objects must not have additional fields, arrays must be in the same order.</li>
+ *   <li>Lenient: objects may have additional fields, arrays may be in any order.</li>
+ * </ul>
+ *
+ * In both modes arrays must have the same length and numbers are compared by value, so {@code 1} equals
+ * {@code 1.0}. Unordered arrays are matched by structural hash first. The remaining elements of lenient comparisons
+ * are paired by a hash over the fields of the expected element, and only those still left by maximum bipartite
+ * matching, which finds a pairing whenever one exists.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+final class JsonComparator {
+
+    static final JsonComparator STRICT = new JsonComparator(false, true);
+    static final JsonComparator LENIENT = new JsonComparator(true, false);
+
+    /**
+     * Exact equality except for array order, used to pair identical elements of unordered arrays.
+     */
+    private static final JsonComparator EXACT = new JsonComparator(false, false);
+
+    private static final Configuration CONFIGURATION = Configuration.defaultConfiguration();
+
+    /**
+     * Parsed expected documents shared by matchers created for the same content, e.g. in a loop. Each matcher keeps
+     * its own reference, so this cache only saves parsing when matchers are re-created and is kept small, since
+     * golden documents can be large.
+     */
+    static final ExpressionCache<String, Object> expectedDocuments = new ExpressionCache<>(16);
+    private static final int MAX_RENDERED_LENGTH = 200;
+
+    private final boolean extensible;
+    private final boolean strictOrder;
+
+    private JsonComparator(boolean extensible, boolean strictOrder) {
+        this.extensible = extensible;
+        this.strictOrder = strictOrder;
+    }
+
+    static JsonComparator of(boolean strict) {
+        return strict ? STRICT : LENIENT;
+    }
+
+    /**
+     * Parse a JSON document into the same tree representation used for response bodies.
+     */
+    static Object parse(String json) {
+        return CONFIGURATION.jsonProvider().parse(json);
+    }
+
+    /**
+     * Return the parsed expected document, which can be shared by all comparisons and concurrent threads.
+     * The returned tree must not be modified.
+     */
+    static Object parseExpected(String json) {
+        return expectedDocuments.get(json, JsonComparator::parse);
+    }
+
+    /**
+     * Assert that the actual document matches the expected one, listing all differences on failure.
+     */
+    void assertEquals(Object expected, Object actual) {
+        List<String> differences = new ArrayList<>();
+        compare(Path.ROOT, expected, actual, differences);
+        if (!differences.isEmpty()) {
+            fail("JSON content does not match" + (strictOrder ? " (strict)" : "") + ":\n  "
+                + String.join("\n  ", differences));
+        }
+    }
+
+    /**
+     * Return whether the actual document matches the expected one.
+     */
+    boolean matches(Object expected, Object actual) {
+        return compare(Path.ROOT, expected, actual, null);
+    }
+
+    /**
+     * Compare two values. Differences are added to the list, or, if the list is {@code null}, the comparison
+     * stops at the first difference.
+     */
+    private boolean compare(Path path, Object expected, Object actual, List<String> differences) {
+        if (expected instanceof Map<?, ?> expectedObject) {
+            if (actual instanceof Map<?, ?> actualObject) {
+                return compareObjects(path, expectedObject, actualObject, differences);
+            }
+        }
+        else if (expected instanceof List<?> expectedArray) {
+            if (actual instanceof List<?> actualArray) {
+                return compareArrays(path, expectedArray, actualArray, differences);
+            }
+        }
+        else if (expected instanceof Number expectedNumber) {
+            if (actual instanceof Number actualNumber && expectedNumber.doubleValue() == actualNumber.doubleValue()) {
+                return true;
+            }
+        }
+        else if (Objects.equals(expected, actual)) {
+            return true;
+        }
+        return difference(differences, path, "expected " + render(expected) + " but was " + render(actual));
+    }
+
+    private boolean compareObjects(Path path, Map<?, ?> expected, Map<?, ?> actual, List<String> differences) {
+        boolean equal = true;
+        int present = 0;
+        for (Map.Entry<?, ?> entry : expected.entrySet()) {
+            Object key = entry.getKey();
+            if (!actual.containsKey(key)) {
+                equal = difference(differences, path, "missing field \"" + key + "\"");
+            }
+            else {
+                present++;
+                if (!compare(path.field(key, differences), entry.getValue(), actual.get(key), differences)) {
+                    equal = false;
+                }
+            }
+            if (!equal && differences == null) {
+                return false;
+            }
+        }
+        if (!extensible && actual.size() > present) {
+            for (Object key : actual.keySet()) {
+                if (!expected.containsKey(key)) {
+                    equal = difference(differences, path, "unexpected field \"" + key + "\"");
+                    if (differences == null) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return equal;
+    }
+
+    private boolean compareArrays(Path path, List<?> expected, List<?> actual, List<String> differences) {
+        if (expected.size() != actual.size()) {
+            return difference(differences, path,
+                "expected " + expected.size() + " elements but was " + actual.size());
+        }
+        if (!strictOrder) {
+            return compareUnordered(path, expected, actual, differences);
+        }
+        boolean equal = true;
+        for (int i = 0; i < expected.size(); i++) {
+            if (!compare(path.index(i, differences), expected.get(i), actual.get(i), differences)) {
+                equal = false;
+                if (differences == null) {
+                    return false;
+                }
+            }
+        }
+        return equal;
+    }
+
+    private boolean compareUnordered(Path path, List<?> expected, List<?> actual, List<String> differences) {
+        int size = expected.size();
+        int[] actualOf = new int[size];
+        int[] expectedOf = new int[size];
+        Arrays.fill(actualOf, -1);
+        Arrays.fill(expectedOf, -1);
+
+        // identical elements are paired by hash, pairing them first never prevents a complete matching
+        Map<Integer, List<Integer>> buckets = new HashMap<>();
+        for (int j = 0; j < size; j++) {
+            buckets.computeIfAbsent(hash(actual.get(j)), key -> new ArrayList<>(1)).add(j);
+        }
+        List<Integer> unmatched = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Object element = expected.get(i);
+            List<Integer> candidates = buckets.get(hash(element));
+            if (candidates != null) {
+                for (int c = 0; c < candidates.size(); c++) {
+                    int j = candidates.get(c);
+                    if (EXACT.matches(element, actual.get(j))) {
+                        actualOf[i] = j;
+                        expectedOf[j] = i;
+                        candidates.remove(c);
+                        break;
+                    }
+                }
+            }
+            if (actualOf[i] < 0) {
+                unmatched.add(i);
+            }
+        }
+        if (unmatched.isEmpty()) {
+            return true;
+        }
+
+        if (extensible) {
+            pairByExpectedFields(expected, actual, unmatched, actualOf, expectedOf);
+            List<Integer> remaining = new ArrayList<>();
+            for (int j = 0; j < size; j++) {
+                if (expectedOf[j] < 0) {
+                    remaining.add(j);
+                }
+            }
+            new Matching(expected, actual, remaining, actualOf, expectedOf).run(unmatched);
+        }
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i : unmatched) {
+            if (actualOf[i] < 0) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return true;
+        }
+        if (differences == null) {
+            return false;
+        }
+        if (missing.size() == 1) {
+            // a single mismatching element is reported in detail against the single remaining one
+            for (int j = 0; j < size; j++) {
+                if (expectedOf[j] < 0) {
+                    return compare(path.index(missing.get(0), differences), expected.get(missing.get(0)), actual.get(j),
+                        differences);
+                }
+            }
+        }
+        for (int i : missing) {
+            difference(differences, path.index(i, differences), "no match for " + render(expected.get(i)));
+        }
+        return false;
+    }
+
+    /**
+     * Pair actual elements that can only match a single expected element, which never prevents a complete matching.
+     * The candidates of an actual element are found by a hash over only the fields of the expected element, so
+     * elements with additional actual fields, e.g. a generated id, are paired without comparing all pairs.
+     */
+    private void pairByExpectedFields(List<?> expected, List<?> actual, List<Integer> unmatched, int[] actualOf,
+            int[] expectedOf) {
+        Map<Set<?>, Map<Integer, List<Integer>>> objects = new HashMap<>();
+        Map<Integer, List<Integer>> others = new HashMap<>();
+        for (int i : unmatched) {
+            Object element = expected.get(i);
+            if (element instanceof Map<?, ?> object) {
+                objects.computeIfAbsent(object.keySet(), key -> new HashMap<>())
+                    .computeIfAbsent(fieldHash(object.keySet(), object), key -> new ArrayList<>(1)).add(i);
+            }
+            else {
+                others.computeIfAbsent(shapeHash(element), key -> new ArrayList<>(1)).add(i);
+            }
+        }
+        for (int j = 0; j < actual.size(); j++) {
+            if (expectedOf[j] >= 0) {
+                continue;
+            }
+            Object element = actual.get(j);
+            int candidate = -1;
+            if (element instanceof Map<?, ?> object) {
+                for (Map.Entry<Set<?>, Map<Integer, List<Integer>>> group : objects.entrySet()) {
+                    if (object.keySet().containsAll(group.getKey())) {
+                        candidate = single(candidate, group.getValue().get(fieldHash(group.getKey(), object)));
+                        if (candidate == -2) {
+                            break;
+                        }
+                    }
+                }
+            }
+            else {
+                candidate = single(-1, others.get(shapeHash(element)));
+            }
+            if (candidate >= 0 && actualOf[candidate] < 0 && matches(expected.get(candidate), element)) {
+                actualOf[candidate] = j;
+                expectedOf[j] = candidate;
+            }
+        }
+    }
+
+    /**
+     * Return the single candidate so far and in the bucket, -1 for none or -2 for several.
+     */
+    private static int single(int candidate, List<Integer> bucket) {
+        if (bucket == null || candidate == -2) {
+            return candidate;
+        }
+        return candidate == -1 && bucket.size() == 1 ? bucket.get(0) : -2;
+    }
+
+    /**
+     * Hash over the given fields of an object, equal for all objects that leniently match one with these fields.
+     * Nested objects and arrays contribute their shape only, since they may differ in lenient comparisons.
+     */
+    private static int fieldHash(Set<?> fields, Map<?, ?> object) {
+        int hash = 1;
+        for (Object field : fields) {
+            hash += mix(31 * Objects.hashCode(field) + shapeHash(object.get(field)));
+        }
+        return hash;
+    }
+
+    /**
+     * Spread the bits of a field hash, so that the sum over similar fields, e.g. {@code "user1"} and
+     * {@code "First1"}, rarely collides for different elements.
+     */
+    private static int mix(int hash) {
+        hash = (hash ^ (hash >>> 16)) * 0x85ebca6b;
+        hash = (hash ^ (hash >>> 13)) * 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int shapeHash(Object value) {
+        if (value instanceof Map<?, ?>) {
+            return 3;
+        }
+        if (value instanceof List<?> array) {
+            return 31 * 2 + array.size();
+        }
+        return hash(value);
+    }
+
+    /**
+     * Maximum bipartite matching of the remaining expected and actual elements using augmenting paths, found by
+     * an iterative depth-first search. Compatibility of element pairs is evaluated when a path reaches them.
+     */
+    private class Matching {
+
+        private final List<?> expected;
+        private final List<?> actual;
+        private final List<Integer> candidates;
+        private final int[] actualOf;
+        private final int[] expectedOf;
+        private final int[] visited;
+        private final int[] path;
+        private final int[] via;
+        private final int[] next;
+        private int round;
+
+        Matching(List<?> expected, List<?> actual, List<Integer> candidates, int[] actualOf, int[] expectedOf) {
+            this.expected = expected;
+            this.actual = actual;
+            this.candidates = candidates;
+            this.actualOf = actualOf;
+            this.expectedOf = expectedOf;
+            this.visited = new int[actual.size()];
+            this.path = new int[candidates.size() + 1];
+            this.via = new int[candidates.size() + 1];
+            this.next = new int[candidates.size() + 1];
+        }
+
+        void run(List<Integer> unmatched) {
+            // a greedy pairing first leaves few elements for the search, which corrects it where needed
+            for (int i : unmatched) {
+                if (actualOf[i] >= 0) {
+                    continue;
+                }
+                for (int j : candidates) {
+                    if (expectedOf[j] < 0 && matches(expected.get(i), actual.get(j))) {
+                        actualOf[i] = j;
+                        expectedOf[j] = i;
+                        break;
+                    }
+                }
+            }
+            for (int i : unmatched) {
+                if (actualOf[i] < 0) {
+                    round++;
+                    augment(i);
+                }
+            }
+        }
+
+        private boolean augment(int root) {
+            int depth = 0;
+            path[0] = root;
+            next[0] = 0;
+            while (depth >= 0) {
+                int i = path[depth];
+                boolean deeper = false;
+                while (next[depth] < candidates.size()) {
+                    int j = candidates.get(next[depth]++);
+                    if (visited[j] == round || !matches(expected.get(i), actual.get(j))) {
+                        continue;
+                    }
+                    visited[j] = round;
+                    via[depth] = j;
+                    if (expectedOf[j] < 0) {
+                        for (int d = depth; d >= 0; d--) {
+                            actualOf[path[d]] = via[d];
+                            expectedOf[via[d]] = path[d];
+                        }
+                        return true;
+                    }
+                    path[++depth] = expectedOf[j];
+                    next[depth] = 0;
+                    deeper = true;
+                    break;
+                }
+                if (!deeper) {
+                    depth--;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Hash consistent with {@link #EXACT} equality: independent of field and element order,
+     * numbers are hashed by value.
+     */
+    private static int hash(Object value) {
+        if (value instanceof Map<?, ?> object) {
+            int hash = 1;
+            for (Map.Entry<?, ?> entry : object.entrySet()) {
+                hash += Objects.hashCode(entry.getKey()) ^ hash(entry.getValue());
+            }
+            return hash;
+        }
+        if (value instanceof List<?> array) {
+            int hash = 2;
+            for (Object element : array) {
+                hash += hash(element);
+            }
+            return 31 * hash + array.size();
+        }
+        if (value instanceof Number number) {
+            double d = number.doubleValue();
+            return d == 0 ? 0 : Double.hashCode(d);
+        }
+        return Objects.hashCode(value);
+    }
+
+    private static boolean difference(List<String> differences, Path path, String message) {
+        if (differences != null) {
+            differences.add(path + ": " + message);
+        }
+        return false;
+    }
+
+    private static String render(Object value) {
+        String json = JSONValue.toJSONString(value);
+        return json.length() > MAX_RENDERED_LENGTH ? json.substring(0, MAX_RENDERED_LENGTH) + "..." : json;
+    }
+
+    /**
+     * Location in the document, rendered as JSON path for failure messages only. Locations are not tracked
+     * while probing for a match, i.e. when no differences are collected.
+     */
+    private record Path(Path parent, Object field, int index) {
+
+        static final Path ROOT = new Path(null, null, -1);
+
+        Path field(Object name, List<String> differences) {
+            return differences != null ? new Path(this, name, -1) : this;
+        }
+
+        Path index(int i, List<String> differences) {
+            return differences != null ? new Path(this, null, i) : this;
+        }
+
+        @Override
+        public String toString() {
+            if (parent == null) {
+                return "$";
+            }
+            return field != null ? parent + "." + field : parent + "[" + index + "]";
+        }
+    }
+}
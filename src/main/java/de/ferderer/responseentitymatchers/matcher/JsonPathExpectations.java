@@ -0,0 +1,206 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.util.AssertionErrors.fail;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.Matcher;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.test.util.AssertionErrors;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * JSON path assertions evaluated against an already parsed JSON document. Mirrors the semantics of Spring's
+ * {@link org.springframework.test.util.JsonPathExpectationsHelper}, which accepts the raw content only and
+ * therefore parses the whole body for every single assertion.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+class JsonPathExpectations {
+
+    private static final Configuration CONFIGURATION = Configuration.defaultConfiguration();
+
+    private final String expression;
+    private final JsonPath jsonPath;
+
+    JsonPathExpectations(String expression) {
+        this.expression = expression;
+        this.jsonPath = JsonPath.compile(expression);
+    }
+
+    /**
+     * Parse the response body into a JSON document suitable for repeated path evaluation.
+     * Binary bodies are parsed straight from the bytes without decoding them to a String first.
+     */
+    static Object parse(HttpEntity<?> result) {
+        if (result.getBody() instanceof byte[] bytes) {
+            return CONFIGURATION.jsonProvider().parse(new ByteArrayInputStream(bytes),
+                ResponseEntityUtils.getCharset(result).name());
+        }
+        return CONFIGURATION.jsonProvider().parse(ResponseEntityUtils.getBody(result));
+    }
+
+    <T> void assertValue(ResponseEntity<?> result, Matcher<? super T> matcher) {
+        @SuppressWarnings("unchecked")
+        T value = (T) evaluate(result);
+        assertThat("JSON path \"" + expression + "\"", value, matcher);
+    }
+
+    <T> void assertValue(ResponseEntity<?> result, Matcher<? super T> matcher, Class<T> targetType) {
+        T value = evaluate(result, targetType);
+        assertThat("JSON path \"" + expression + "\"", value, matcher);
+    }
+
+    void assertValue(ResponseEntity<?> result, @Nullable Object expectedValue) {
+        Object actualValue = evaluate(result);
+        if (actualValue instanceof List<?> actualValueList && !(expectedValue instanceof List)) {
+            if (actualValueList.isEmpty()) {
+                fail("No matching value at JSON path \"" + expression + "\"");
+            }
+            if (actualValueList.size() != 1) {
+                fail("Got a list of values " + actualValue + " instead of the expected single value " + expectedValue);
+            }
+            actualValue = actualValueList.get(0);
+        }
+        else if (actualValue != null && expectedValue != null
+                && !actualValue.getClass().equals(expectedValue.getClass())) {
+            try {
+                actualValue = evaluate(result, expectedValue.getClass());
+            }
+            catch (AssertionError error) {
+                String message = String.format(
+                    "At JSON path \"%s\", value <%s> of type <%s> cannot be converted to type <%s>",
+                    expression, actualValue, ClassUtils.getDescriptiveType(actualValue),
+                    ClassUtils.getDescriptiveType(expectedValue));
+                throw new AssertionError(message, error.getCause());
+            }
+        }
+        AssertionErrors.assertEquals("JSON path \"" + expression + "\"", expectedValue, actualValue);
+    }
+
+    void assertValueIsString(ResponseEntity<?> result) {
+        Object value = assertExistsAndReturn(result);
+        assertThat(failureReason("a string", value), value, CoreMatchers.instanceOf(String.class));
+    }
+
+    void assertValueIsBoolean(ResponseEntity<?> result) {
+        Object value = assertExistsAndReturn(result);
+        assertThat(failureReason("a boolean", value), value, CoreMatchers.instanceOf(Boolean.class));
+    }
+
+    void assertValueIsNumber(ResponseEntity<?> result) {
+        Object value = assertExistsAndReturn(result);
+        assertThat(failureReason("a number", value), value, CoreMatchers.instanceOf(Number.class));
+    }
+
+    void assertValueIsArray(ResponseEntity<?> result) {
+        Object value = assertExistsAndReturn(result);
+        assertThat(failureReason("an array", value), value, CoreMatchers.instanceOf(List.class));
+    }
+
+    void assertValueIsMap(ResponseEntity<?> result) {
+        Object value = assertExistsAndReturn(result);
+        assertThat(failureReason("a map", value), value, CoreMatchers.instanceOf(Map.class));
+    }
+
+    void exists(ResponseEntity<?> result) {
+        assertExistsAndReturn(result);
+    }
+
+    void doesNotExist(ResponseEntity<?> result) {
+        Object value;
+        try {
+            value = evaluate(result);
+        }
+        catch (AssertionError ex) {
+            return;
+        }
+        String reason = failureReason("no value", value);
+        if (pathIsIndefinite() && value instanceof List<?> list) {
+            assertTrue(reason, list.isEmpty());
+        }
+        else {
+            assertTrue(reason, value == null);
+        }
+    }
+
+    void assertValueIsEmpty(ResponseEntity<?> result) {
+        Object value = evaluate(result);
+        assertTrue(failureReason("an empty value", value), ObjectUtils.isEmpty(value));
+    }
+
+    void assertValueIsNotEmpty(ResponseEntity<?> result) {
+        Object value = evaluate(result);
+        assertTrue(failureReason("a non-empty value", value), !ObjectUtils.isEmpty(value));
+    }
+
+    void hasJsonPath(ResponseEntity<?> result) {
+        Object value = evaluate(result);
+        if (pathIsIndefinite() && value instanceof List<?> list) {
+            assertTrue("No values for JSON path \"" + expression + "\"", !list.isEmpty());
+        }
+    }
+
+    void doesNotHaveJsonPath(ResponseEntity<?> result) {
+        Object value;
+        try {
+            value = evaluate(result);
+        }
+        catch (AssertionError ex) {
+            return;
+        }
+        if (pathIsIndefinite() && value instanceof List<?> list) {
+            assertTrue(failureReason("no values", value), list.isEmpty());
+        }
+        else {
+            fail(failureReason("no value", value));
+        }
+    }
+
+    private Object evaluate(ResponseEntity<?> result) {
+        try {
+            return jsonPath.read(ResponseEntityUtils.getJsonDocument(result), CONFIGURATION);
+        }
+        catch (Throwable ex) {
+            throw new AssertionError("No value at JSON path \"" + expression + "\"", ex);
+        }
+    }
+
+    private <T> T evaluate(ResponseEntity<?> result, Class<T> targetType) {
+        try {
+            return JsonPath.parse(ResponseEntityUtils.getJsonDocument(result), CONFIGURATION).read(jsonPath, targetType);
+        }
+        catch (Throwable ex) {
+            throw new AssertionError("Failed to evaluate JSON path \"" + expression + "\" with type " + targetType, ex);
+        }
+    }
+
+    private Object assertExistsAndReturn(ResponseEntity<?> result) {
+        Object value = evaluate(result);
+        String reason = "No value at JSON path \"" + expression + "\"";
+        assertTrue(reason, value != null);
+        if (pathIsIndefinite() && value instanceof List<?> list) {
+            assertTrue(reason, !list.isEmpty());
+        }
+        return value;
+    }
+
+    private boolean pathIsIndefinite() {
+        return !jsonPath.isDefinite();
+    }
+
+    private String failureReason(String expectedDescription, @Nullable Object value) {
+        return String.format("Expected %s at JSON path \"%s\" but found: %s", expectedDescription, expression,
+            ObjectUtils.nullSafeToString(StringUtils.quoteIfString(value)));
+    }
+}
@@ -2,7 +2,6 @@ package de.ferderer.responseentitymatchers.matcher;
 
 import org.hamcrest.Matcher;
 import org.springframework.lang.Nullable;
-import org.springframework.test.util.JsonPathExpectationsHelper;
 
 /**
  * Factory for assertions on the request content using
@@ -12,15 +11,28 @@ import org.springframework.test.util.JsonPathExpectationsHelper;
  * {@link MatcherFactory#jsonPath(String, Matcher)} or
  * {@link MatcherFactory#jsonPath(String, Object...)}.
  *
+ * <p>The response body is parsed once per {@link ResponseContext} and the
+ * resulting document is shared by all JSON path matchers of that response.
+ * Compiled expressions are kept in a bounded cache, see {@link #expressionCache()}.
+ *
  * @author Vadim Ferderer
  * @since 1.0
  */
 public class JsonPathMatchers {
 
-    private final JsonPathExpectationsHelper jsonPathHelper;
+    private static final ExpressionCache<String, JsonPathExpectations> cache = new ExpressionCache<>(1024);
+
+    private final JsonPathExpectations expectations;
 
     protected JsonPathMatchers(String expression, Object... args) {
-        this.jsonPathHelper = new JsonPathExpectationsHelper(String.format(expression, args));
+        this.expectations = cache.get(String.format(expression, args), JsonPathExpectations::new);
+    }
+
+    /**
+     * Access to the cache of compiled JSON path expressions shared by all matchers, e.g. to check its hit rate.
+     */
+    public static ExpressionCache<String, ?> expressionCache() {
+        return cache;
     }
 
     /**
@@ -28,7 +40,7 @@ public class JsonPathMatchers {
      * assert the resulting value with the given Hamcrest {@link Matcher}.
      */
     public <T> ResponseMatcher value(Matcher<? super T> matcher) {
-        return result -> jsonPathHelper.assertValue(ResponseEntityUtils.getBody(result), matcher);
+        return result -> expectations.assertValue(result, matcher);
     }
 
     /**
@@ -37,7 +49,7 @@ public class JsonPathMatchers {
      * This can be useful for matching numbers reliably &mdash; for example, to coerce an integer into a double.
      */
     public <T> ResponseMatcher value(Matcher<? super T> matcher, Class<T> targetType) {
-        return result -> jsonPathHelper.assertValue(ResponseEntityUtils.getBody(result), matcher, targetType);
+        return result -> expectations.assertValue(result, matcher, targetType);
     }
 
     /**
@@ -45,7 +57,7 @@ public class JsonPathMatchers {
      * assert that the result is equal to the supplied value.
      */
     public ResponseMatcher value(@Nullable Object expectedValue) {
-        return result -> jsonPathHelper.assertValue(ResponseEntityUtils.getBody(result), expectedValue);
+        return result -> expectations.assertValue(result, expectedValue);
     }
 
     /**
@@ -55,7 +67,7 @@ public class JsonPathMatchers {
      * at the given path is not <em>empty</em>.
      */
     public ResponseMatcher exists() {
-        return result -> jsonPathHelper.exists(ResponseEntityUtils.getBody(result));
+        return result -> expectations.exists(result);
     }
 
     /**
@@ -66,7 +78,7 @@ public class JsonPathMatchers {
      * this method asserts that the value at the given path is <em>empty</em>.
      */
     public ResponseMatcher doesNotExist() {
-        return result -> jsonPathHelper.doesNotExist(ResponseEntityUtils.getBody(result));
+        return result -> expectations.doesNotExist(result);
     }
 
     /**
@@ -77,7 +89,7 @@ public class JsonPathMatchers {
      * {@link org.springframework.util.ObjectUtils#isEmpty(Object)}.
      */
     public ResponseMatcher isEmpty() {
-        return result -> jsonPathHelper.assertValueIsEmpty(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsEmpty(result);
     }
 
     /**
@@ -88,7 +100,7 @@ public class JsonPathMatchers {
      * {@link org.springframework.util.ObjectUtils#isEmpty(Object)}.
      */
     public ResponseMatcher isNotEmpty() {
-        return result -> jsonPathHelper.assertValueIsNotEmpty(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsNotEmpty(result);
     }
 
     /**
@@ -100,7 +112,7 @@ public class JsonPathMatchers {
      * that the list of values at the given path is not <em>empty</em>.
      */
     public ResponseMatcher hasJsonPath() {
-        return result -> jsonPathHelper.hasJsonPath(ResponseEntityUtils.getBody(result));
+        return result -> expectations.hasJsonPath(result);
     }
 
     /**
@@ -113,7 +125,7 @@ public class JsonPathMatchers {
      * that the list of values at the given path is <em>empty</em>.
      */
     public ResponseMatcher doesNotHaveJsonPath() {
-        return result -> jsonPathHelper.doesNotHaveJsonPath(ResponseEntityUtils.getBody(result));
+        return result -> expectations.doesNotHaveJsonPath(result);
     }
 
     /**
@@ -121,7 +133,7 @@ public class JsonPathMatchers {
      * assert that the result is a {@link String}.
      */
     public ResponseMatcher isString() {
-        return result -> jsonPathHelper.assertValueIsString(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsString(result);
     }
 
     /**
@@ -129,7 +141,7 @@ public class JsonPathMatchers {
      * assert that the result is a {@link Boolean}.
      */
     public ResponseMatcher isBoolean() {
-        return result -> jsonPathHelper.assertValueIsBoolean(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsBoolean(result);
     }
 
     /**
@@ -137,7 +149,7 @@ public class JsonPathMatchers {
      * assert that the result is a {@link Number}.
      */
     public ResponseMatcher isNumber() {
-        return result -> jsonPathHelper.assertValueIsNumber(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsNumber(result);
     }
 
     /**
@@ -145,7 +157,7 @@ public class JsonPathMatchers {
      * assert that the result is an array.
      */
     public ResponseMatcher isArray() {
-        return result -> jsonPathHelper.assertValueIsArray(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsArray(result);
     }
 
     /**
@@ -153,6 +165,6 @@ public class JsonPathMatchers {
      * assert that the result is a {@link java.util.Map}.
      */
     public ResponseMatcher isMap() {
-        return result -> jsonPathHelper.assertValueIsMap(ResponseEntityUtils.getBody(result));
+        return result -> expectations.assertValueIsMap(result);
     }
 }
@@ -0,0 +1,461 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.util.AssertionErrors.fail;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.Matcher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+/**
+ * Factory for assertions on large JSON response bodies. All expectations are evaluated together in a single
+ * pass over the body stream using a token-level parser, so memory use depends on the nesting depth of the
+ * document and the size of the selected values, but not on the size of the document.
+ *
+ * <p>Paths are a subset of <a href="https://github.com/jayway/JsonPath">JsonPath</a>: the root {@code $},
+ * followed by {@code .name}, {@code ['name']}, {@code [index]} and the wildcards {@code .*} and {@code [*]}.
+ * Values are presented to the matchers as {@link String}, {@link Number}, {@link Boolean}, {@code null},
+ * {@link Map} or {@link List}.
+ *
+ * <pre class="code">
+ * get("/export").perform(jsonStream()
+ *     .value("$.meta.total", is(1000))
+ *     .count("$.items", is(1000))
+ *     .each("$.items[*].price", greaterThan(0.0)));
+ * </pre>
+ *
+ * <p>An instance of this class is typically accessed via {@link MatcherFactory#jsonStream()}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class JsonStreamMatchers implements StreamingResponseMatcher {
+
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final List<Expectation> expectations = new ArrayList<>();
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#jsonStream()}.
+     */
+    protected JsonStreamMatchers() {}
+
+    /**
+     * Assert the value at the given definite path with the given Hamcrest {@link Matcher}.
+     */
+    public JsonStreamMatchers value(String path, Matcher<?> matcher) {
+        expectations.add(new ValueExpectation(definite(path), matcher));
+        return this;
+    }
+
+    /**
+     * Assert that the value at the given definite path is equal to the supplied value.
+     */
+    public JsonStreamMatchers value(String path, @Nullable Object expectedValue) {
+        return value(path, CoreMatchers.equalTo(expectedValue));
+    }
+
+    /**
+     * Assert that a value, possibly {@code null}, exists at the given definite path.
+     */
+    public JsonStreamMatchers exists(String path) {
+        expectations.add(new PresenceExpectation(definite(path), true));
+        return this;
+    }
+
+    /**
+     * Assert that no value exists at the given definite path.
+     */
+    public JsonStreamMatchers doesNotExist(String path) {
+        expectations.add(new PresenceExpectation(definite(path), false));
+        return this;
+    }
+
+    /**
+     * Assert the number of elements of the array at the given path with the given Hamcrest {@link Matcher}.
+     * If the path contains wildcards, the elements of all selected arrays are summed up.
+     */
+    public JsonStreamMatchers count(String path, Matcher<? super Integer> matcher) {
+        expectations.add(new CountExpectation(new JsonStreamPath(path), matcher));
+        return this;
+    }
+
+    /**
+     * Assert the number of elements of the array at the given path.
+     */
+    public JsonStreamMatchers count(String path, int expectedCount) {
+        return count(path, CoreMatchers.equalTo(expectedCount));
+    }
+
+    /**
+     * Assert every value selected by the given path with the given Hamcrest {@link Matcher}, e.g. each
+     * element of an array with {@code $.items[*]} or a field of each element with {@code $.items[*].id}.
+     * Each value is materialized on its own, so this is suitable for arrays of any length.
+     */
+    public JsonStreamMatchers each(String path, Matcher<?> matcher) {
+        expectations.add(new EachExpectation(new JsonStreamPath(path), matcher));
+        return this;
+    }
+
+    @Override
+    public void match(ResponseEntity<?> response, InputStream body) throws IOException {
+        try (JsonParser parser = createParser(response, body)) {
+            Evaluation evaluation = new Evaluation(parser);
+            evaluation.run();
+            evaluation.verify();
+        }
+        catch (JsonProcessingException ex) {
+            throw new AssertionError("Response content is not valid JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private static JsonParser createParser(ResponseEntity<?> response, InputStream body) throws IOException {
+        Charset charset = ResponseEntityUtils.getCharset(response);
+        return charset.equals(StandardCharsets.UTF_8)
+            ? factory.createParser(body)
+            : factory.createParser(new InputStreamReader(body, charset));
+    }
+
+    private static JsonStreamPath definite(String path) {
+        JsonStreamPath streamPath = new JsonStreamPath(path);
+        if (!streamPath.isDefinite()) {
+            throw new IllegalArgumentException("JSON path must be definite: " + path);
+        }
+        return streamPath;
+    }
+
+    private abstract static class Expectation {
+
+        final JsonStreamPath path;
+
+        Expectation(JsonStreamPath path) {
+            this.path = path;
+        }
+
+        boolean needsValue() {
+            return false;
+        }
+
+        void value(@Nullable Object value, Location location) {}
+
+        abstract void verify(int matches, int arrays, long elements);
+    }
+
+    private static class ValueExpectation extends Expectation {
+
+        private final Matcher<Object> matcher;
+
+        @SuppressWarnings("unchecked")
+        ValueExpectation(JsonStreamPath path, Matcher<?> matcher) {
+            super(path);
+            this.matcher = (Matcher<Object>) matcher;
+        }
+
+        @Override
+        boolean needsValue() {
+            return true;
+        }
+
+        @Override
+        void value(@Nullable Object value, Location location) {
+            assertThat("JSON path \"" + path + "\"", value, matcher);
+        }
+
+        @Override
+        void verify(int matches, int arrays, long elements) {
+            assertTrue("No value at JSON path \"" + path + "\"", matches > 0);
+        }
+    }
+
+    private static class EachExpectation extends Expectation {
+
+        private final Matcher<Object> matcher;
+
+        @SuppressWarnings("unchecked")
+        EachExpectation(JsonStreamPath path, Matcher<?> matcher) {
+            super(path);
+            this.matcher = (Matcher<Object>) matcher;
+        }
+
+        @Override
+        boolean needsValue() {
+            return true;
+        }
+
+        @Override
+        void value(@Nullable Object value, Location location) {
+            if (!matcher.matches(value)) {
+                assertThat("JSON path \"" + path + "\" at " + location.describe(), value, matcher);
+            }
+        }
+
+        @Override
+        void verify(int matches, int arrays, long elements) {}
+    }
+
+    private static class PresenceExpectation extends Expectation {
+
+        private final boolean expected;
+
+        PresenceExpectation(JsonStreamPath path, boolean expected) {
+            super(path);
+            this.expected = expected;
+        }
+
+        @Override
+        void verify(int matches, int arrays, long elements) {
+            if (expected) {
+                assertTrue("No value at JSON path \"" + path + "\"", matches > 0);
+            }
+            else if (matches > 0) {
+                fail("Expected no value at JSON path \"" + path + "\"");
+            }
+        }
+    }
+
+    private static class CountExpectation extends Expectation {
+
+        private final Matcher<? super Integer> matcher;
+
+        CountExpectation(JsonStreamPath path, Matcher<? super Integer> matcher) {
+            super(path);
+            this.matcher = matcher;
+        }
+
+        @Override
+        void verify(int matches, int arrays, long elements) {
+            assertTrue("No array at JSON path \"" + path + "\"", arrays > 0);
+            assertThat("Array size at JSON path \"" + path + "\"", Math.toIntExact(elements), matcher);
+        }
+    }
+
+    /**
+     * Location of a selected value, rendered for failure messages only.
+     */
+    @FunctionalInterface
+    private interface Location {
+        String describe();
+    }
+
+    /**
+     * State of a single pass over the token stream. Tracks the current location as a stack of frames,
+     * the number of matches per expectation and the values being materialized for the expectations.
+     */
+    private class Evaluation implements Location {
+
+        private final JsonParser parser;
+        private final List<Frame> frames = new ArrayList<>();
+        private final List<ValueBuilder> builders = new ArrayList<>();
+        private final int[] matches = new int[expectations.size()];
+        private final int[] arrays = new int[expectations.size()];
+        private final long[] elements = new long[expectations.size()];
+        private int depth;
+
+        Evaluation(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        void run() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case FIELD_NAME -> {
+                        String name = parser.currentName();
+                        frames.get(depth - 1).name = name;
+                        for (ValueBuilder builder : builders) {
+                            builder.field(name);
+                        }
+                    }
+                    case START_OBJECT, START_ARRAY -> {
+                        advance();
+                        for (int i = 0; i < expectations.size(); i++) {
+                            Expectation expectation = expectations.get(i);
+                            if (expectation.path.matches(frames, depth)) {
+                                matches[i]++;
+                                if (expectation.needsValue()) {
+                                    String location = describe();
+                                    builders.add(new ValueBuilder(expectation, () -> location));
+                                }
+                            }
+                        }
+                        boolean array = token == JsonToken.START_ARRAY;
+                        for (ValueBuilder builder : builders) {
+                            builder.start(array ? new ArrayList<>() : new LinkedHashMap<>());
+                        }
+                        push(array);
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        Frame frame = frames.get(--depth);
+                        if (frame.array) {
+                            for (int i = 0; i < expectations.size(); i++) {
+                                if (expectations.get(i).path.matches(frames, depth)) {
+                                    arrays[i]++;
+                                    elements[i] += frame.index + 1;
+                                }
+                            }
+                        }
+                        for (int i = 0; i < builders.size(); i++) {
+                            ValueBuilder builder = builders.get(i);
+                            if (builder.end()) {
+                                builders.remove(i--);
+                                builder.expectation.value(builder.result, builder.location);
+                            }
+                        }
+                    }
+                    default -> scalar(token);
+                }
+            }
+        }
+
+        void verify() {
+            for (int i = 0; i < expectations.size(); i++) {
+                expectations.get(i).verify(matches[i], arrays[i], elements[i]);
+            }
+        }
+
+        private void scalar(JsonToken token) throws IOException {
+            advance();
+            boolean valueRead = false;
+            Object value = null;
+            for (int i = 0; i < expectations.size(); i++) {
+                Expectation expectation = expectations.get(i);
+                if (expectation.path.matches(frames, depth)) {
+                    matches[i]++;
+                    if (expectation.needsValue()) {
+                        if (!valueRead) {
+                            value = read(token);
+                            valueRead = true;
+                        }
+                        expectation.value(value, this);
+                    }
+                }
+            }
+            if (!builders.isEmpty()) {
+                Object builderValue = valueRead ? value : read(token);
+                for (ValueBuilder builder : builders) {
+                    builder.value(builderValue);
+                }
+            }
+        }
+
+        private Object read(JsonToken token) throws IOException {
+            return switch (token) {
+                case VALUE_STRING -> parser.getText();
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                case VALUE_NULL -> null;
+                default -> parser.getEmbeddedObject();
+            };
+        }
+
+        private void advance() {
+            if (depth > 0) {
+                Frame frame = frames.get(depth - 1);
+                if (frame.array) {
+                    frame.index++;
+                }
+            }
+        }
+
+        private void push(boolean array) {
+            if (depth == frames.size()) {
+                frames.add(new Frame());
+            }
+            Frame frame = frames.get(depth++);
+            frame.array = array;
+            frame.index = -1;
+            frame.name = null;
+        }
+
+        @Override
+        public String describe() {
+            StringBuilder location = new StringBuilder("$");
+            for (int i = 0; i < depth; i++) {
+                Frame frame = frames.get(i);
+                if (frame.array) {
+                    location.append('[').append(frame.index).append(']');
+                }
+                else {
+                    location.append("['").append(frame.name).append("']");
+                }
+            }
+            return location.toString();
+        }
+    }
+
+    /**
+     * One level of the current location: an array with the index of the current element,
+     * or an object with the name of the current field.
+     */
+    static class Frame {
+        boolean array;
+        int index;
+        String name;
+    }
+
+    /**
+     * Materializes a single selected value from the token stream into maps and lists.
+     */
+    private static class ValueBuilder {
+
+        final Expectation expectation;
+        final Location location;
+        private final Deque<Object> containers = new ArrayDeque<>();
+        private String field;
+        private Object result;
+
+        ValueBuilder(Expectation expectation, Location location) {
+            this.expectation = expectation;
+            this.location = location;
+        }
+
+        void field(String name) {
+            this.field = name;
+        }
+
+        void start(Object container) {
+            value(container);
+            containers.push(container);
+        }
+
+        @SuppressWarnings("unchecked")
+        void value(Object value) {
+            Object container = containers.peek();
+            if (container == null) {
+                result = value;
+            }
+            else if (container instanceof List<?> list) {
+                ((List<Object>) list).add(value);
+            }
+            else {
+                ((Map<String, Object>) container).put(field, value);
+            }
+        }
+
+        /**
+         * Close the current container and return whether the value is complete.
+         */
+        boolean end() {
+            containers.pop();
+            return containers.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled form of the simple JSON paths supported by the streaming matchers: the root {@code $}, followed
+ * by field names ({@code .name}, {@code ['name']}), array indexes ({@code [0]}) and wildcards ({@code .*},
+ * {@code [*]}). Filters, slices and deep scans need the whole document and are therefore rejected.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+class JsonStreamPath {
+
+    private static final Segment WILDCARD = new Segment(null, -1);
+
+    private final String expression;
+    private final Segment[] segments;
+
+    JsonStreamPath(String expression) {
+        this.expression = expression;
+        this.segments = compile(expression);
+    }
+
+    /**
+     * Return whether the path selects at most one value.
+     */
+    boolean isDefinite() {
+        for (Segment segment : segments) {
+            if (segment == WILDCARD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return whether the path selects the value at the location described by the first {@code depth} frames.
+     */
+    boolean matches(List<JsonStreamMatchers.Frame> frames, int depth) {
+        if (depth != segments.length) {
+            return false;
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            Segment segment = segments[i];
+            if (segment == WILDCARD) {
+                continue;
+            }
+            JsonStreamMatchers.Frame frame = frames.get(i);
+            if (frame.array ? segment.index != frame.index : !frame.name.equals(segment.name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static Segment[] compile(String expression) {
+        if (!expression.startsWith("$")) {
+            throw unsupported(expression);
+        }
+        List<Segment> segments = new ArrayList<>();
+        int length = expression.length();
+        int i = 1;
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < length && expression.charAt(end) != '.' && expression.charAt(end) != '[') {
+                    end++;
+                }
+                String name = expression.substring(i + 1, end);
+                if (name.isEmpty()) {
+                    throw unsupported(expression);
+                }
+                segments.add(name.equals("*") ? WILDCARD : new Segment(name, -1));
+                i = end;
+            }
+            else if (c == '[') {
+                int end = expression.indexOf(']', i);
+                if (end < 0) {
+                    throw unsupported(expression);
+                }
+                segments.add(bracket(expression, expression.substring(i + 1, end).trim()));
+                i = end + 1;
+            }
+            else {
+                throw unsupported(expression);
+            }
+        }
+        return segments.toArray(Segment[]::new);
+    }
+
+    private static Segment bracket(String expression, String content) {
+        if (content.equals("*")) {
+            return WILDCARD;
+        }
+        if (content.length() >= 2 && (content.startsWith("'") && content.endsWith("'")
+                || content.startsWith("\"") && content.endsWith("\""))) {
+            return new Segment(content.substring(1, content.length() - 1), -1);
+        }
+        try {
+            int index = Integer.parseInt(content);
+            if (index < 0) {
+                throw unsupported(expression);
+            }
+            return new Segment(null, index);
+        }
+        catch (NumberFormatException ex) {
+            throw unsupported(expression);
+        }
+    }
+
+    private static IllegalArgumentException unsupported(String expression) {
+        return new IllegalArgumentException("Unsupported streaming JSON path: " + expression);
+    }
+
+    /**
+     * A field name, an array index or the wildcard.
+     */
+    private record Segment(String name, int index) {}
+}
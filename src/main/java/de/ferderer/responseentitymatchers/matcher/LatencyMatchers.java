@@ -0,0 +1,86 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.time.Duration;
+import org.hamcrest.Matcher;
+
+/**
+ * Factory for assertions on the latency distribution of a load test. An instance
+ * of this class is typically accessed via {@link MatcherFactory#latency()}.
+ *
+ * <pre class="code">
+ * get("/path").repeat(10_000).concurrency(64).perform()
+ *   .andExpect(latency().p99(lessThan(ofMillis(50))));
+ * </pre>
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class LatencyMatchers {
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#latency()}.
+     */
+    protected LatencyMatchers() {}
+
+    /**
+     * Assert the latency at the given percentile, e.g. {@code 99.9}, with the given Hamcrest {@link Matcher}.
+     */
+    public LoadTestMatcher percentile(double percentile, Matcher<? super Duration> matcher) {
+        return result -> assertThat("Latency p" + format(percentile), result.histogram().percentile(percentile), matcher);
+    }
+
+    /**
+     * Assert the median latency.
+     */
+    public LoadTestMatcher p50(Matcher<? super Duration> matcher) {
+        return percentile(50, matcher);
+    }
+
+    /**
+     * Assert the latency at the 90th percentile.
+     */
+    public LoadTestMatcher p90(Matcher<? super Duration> matcher) {
+        return percentile(90, matcher);
+    }
+
+    /**
+     * Assert the latency at the 95th percentile.
+     */
+    public LoadTestMatcher p95(Matcher<? super Duration> matcher) {
+        return percentile(95, matcher);
+    }
+
+    /**
+     * Assert the latency at the 99th percentile.
+     */
+    public LoadTestMatcher p99(Matcher<? super Duration> matcher) {
+        return percentile(99, matcher);
+    }
+
+    /**
+     * Assert the latency at the 99.9th percentile.
+     */
+    public LoadTestMatcher p999(Matcher<? super Duration> matcher) {
+        return percentile(99.9, matcher);
+    }
+
+    /**
+     * Assert the largest latency.
+     */
+    public LoadTestMatcher max(Matcher<? super Duration> matcher) {
+        return result -> assertThat("Latency max", result.histogram().max(), matcher);
+    }
+
+    /**
+     * Assert the mean latency.
+     */
+    public LoadTestMatcher mean(Matcher<? super Duration> matcher) {
+        return result -> assertThat("Latency mean", result.histogram().mean(), matcher);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
@@ -0,0 +1,46 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.hamcrest.Matcher;
+
+/**
+ * Factory for assertions on errors and throughput of a load test. An instance
+ * of this class is typically accessed via {@link MatcherFactory#load()}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class LoadMatchers {
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#load()}.
+     */
+    protected LoadMatchers() {}
+
+    /**
+     * Assert that no request failed. The first recorded error is attached as the cause.
+     */
+    public LoadTestMatcher noErrors() {
+        return result -> {
+            if (result.errorCount() > 0) {
+                throw new AssertionError(result.errorCount() + " of " + result.count() + " requests failed",
+                    result.errorSamples().isEmpty() ? null : result.errorSamples().get(0));
+            }
+        };
+    }
+
+    /**
+     * Assert the number of failed requests with the given Hamcrest {@link Matcher}.
+     */
+    public LoadTestMatcher errors(Matcher<? super Long> matcher) {
+        return result -> assertThat("Failed requests", result.errorCount(), matcher);
+    }
+
+    /**
+     * Assert the number of measured requests per second with the given Hamcrest {@link Matcher}.
+     */
+    public LoadTestMatcher throughput(Matcher<? super Double> matcher) {
+        return result -> assertThat("Requests per second", result.throughput(), matcher);
+    }
+}
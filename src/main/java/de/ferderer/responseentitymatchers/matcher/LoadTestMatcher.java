@@ -0,0 +1,21 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import de.ferderer.responseentitymatchers.load.LoadTestResult;
+
+/**
+ * A {@code LoadTestMatcher} performs an assertion on the aggregate result of a load test, see
+ * {@link de.ferderer.responseentitymatchers.rest.RequestBuilder#repeat(int)}.
+ *
+ * <p>See static factory methods {@link MatcherFactory#latency()} and {@link MatcherFactory#load()}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface LoadTestMatcher {
+
+    /**
+     * Performs an assertion on the provided load test result.
+     */
+    void match(LoadTestResult result) throws Exception;
+}
@@ -1,5 +1,6 @@
 package de.ferderer.responseentitymatchers.matcher;
 
+import java.util.Map;
 import org.hamcrest.Matcher;
 
 /**
@@ -60,5 +61,79 @@ public class MatcherFactory {
         return new JsonPathMatchers(expression).value(matcher, targetType);
     }
 
+    /**
+     * Access to response body assertions using an XPath expression to inspect a specific subset of the body.
+     * The XPath expression can be a parameterized string using formatting specifiers as defined in
+     * {@link String#format(String, Object...)}.
+     */
+    public static XPathMatchers xpath(String expression, Object... args) {
+        return new XPathMatchers(expression, Map.of(), args);
+    }
+
+    /**
+     * Access to response body assertions using an XPath expression with namespaces to inspect a specific subset
+     * of the body. The XPath expression can be a parameterized string using formatting specifiers as defined in
+     * {@link String#format(String, Object...)}.
+     */
+    public static XPathMatchers xpath(String expression, Map<String, String> namespaces, Object... args) {
+        return new XPathMatchers(expression, namespaces, args);
+    }
+
+    /**
+     * Access to assertions on large JSON response bodies, evaluated in a single pass while the body is read
+     * from the connection. Apply them via
+     * {@link de.ferderer.responseentitymatchers.rest.RequestBuilder#perform(StreamingResponseMatcher)}.
+     *
+     * <p>Use of these matchers requires the <a href="https://github.com/FasterXML/jackson-core">Jackson</a> library.
+     */
+    public static JsonStreamMatchers jsonStream() {
+        return new JsonStreamMatchers();
+    }
+
+    /**
+     * Access to assertions on large XML response bodies, evaluated in a single pass while the body is read
+     * from the connection. Apply them via
+     * {@link de.ferderer.responseentitymatchers.rest.RequestBuilder#perform(StreamingResponseMatcher)}.
+     */
+    public static XmlStreamMatchers xmlStream() {
+        return new XmlStreamMatchers(Map.of());
+    }
+
+    /**
+     * Access to assertions on large XML response bodies using the given namespace bindings for prefixed names.
+     */
+    public static XmlStreamMatchers xmlStream(Map<String, String> namespaces) {
+        return new XmlStreamMatchers(namespaces);
+    }
+
+    /**
+     * Access to assertions on response bodies written to a file via
+     * {@link de.ferderer.responseentitymatchers.rest.RequestBuilder#bodyToFile()}.
+     */
+    public static FileMatchers file() {
+        return new FileMatchers();
+    }
+
+    /**
+     * Access to response timing assertions.
+     */
+    public static TimingMatchers timing() {
+        return new TimingMatchers();
+    }
+
+    /**
+     * Access to assertions on the latency distribution of a load test.
+     */
+    public static LatencyMatchers latency() {
+        return new LatencyMatchers();
+    }
+
+    /**
+     * Access to assertions on errors and throughput of a load test.
+     */
+    public static LoadMatchers load() {
+        return new LoadMatchers();
+    }
+
     private MatcherFactory() {}
 }
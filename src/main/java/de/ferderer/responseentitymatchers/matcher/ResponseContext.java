@@ -0,0 +1,137 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.w3c.dom.Document;
+
+/**
+ * A {@link ResponseEntity} that keeps derived representations of its body, e.g. the parsed JSON or XML document,
+ * so that all matchers applied to the same response share them instead of parsing the body on every assertion.
+ *
+ * <p>Instances are created by {@link de.ferderer.responseentitymatchers.rest.ResponseActions}. Matchers applied
+ * to a plain {@link ResponseEntity} work as well, but derive the representation anew on each call.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class ResponseContext<T> extends ResponseEntity<T> {
+
+    private final Supplier<? extends T> bodySource;
+    private T body;
+    private boolean bodyRead;
+    private String bodyAsString;
+    private Object jsonDocument;
+    private Document xmlDocument;
+    private ResponseTiming timing;
+    private RequestEntity<?> request;
+
+    public ResponseContext(ResponseEntity<T> response) {
+        super(response.getBody(), response.getHeaders(), response.getStatusCode());
+        this.bodySource = null;
+    }
+
+    /**
+     * Create a context whose body is obtained from the supplied source when first accessed, e.g. by the first
+     * matcher depending on it. Status and header matchers do not access the body.
+     */
+    public ResponseContext(HttpHeaders headers, HttpStatusCode status, Supplier<? extends T> bodySource) {
+        super(headers, status);
+        this.bodySource = bodySource;
+    }
+
+    /**
+     * Wrap the supplied response entity unless it already is a {@code ResponseContext}.
+     */
+    public static <T> ResponseContext<T> of(ResponseEntity<T> response) {
+        return response instanceof ResponseContext<T> context ? context : new ResponseContext<>(response);
+    }
+
+    @Override
+    public synchronized T getBody() {
+        if (bodySource == null) {
+            return super.getBody();
+        }
+        if (!bodyRead) {
+            body = bodySource.get();
+            bodyRead = true;
+        }
+        return body;
+    }
+
+    @Override
+    public boolean hasBody() {
+        return getBody() != null;
+    }
+
+    /**
+     * Return the timing of the exchange, or {@code null} if the response was not obtained from a request.
+     */
+    public ResponseTiming timing() {
+        return timing;
+    }
+
+    /**
+     * Record the timing of the exchange that produced this response.
+     */
+    public ResponseContext<T> timing(ResponseTiming timing) {
+        this.timing = timing;
+        return this;
+    }
+
+    /**
+     * Return the request that produced this response, or {@code null} if the response was not obtained from a
+     * request.
+     */
+    public RequestEntity<?> request() {
+        return request;
+    }
+
+    /**
+     * Record the request that produced this response.
+     */
+    public ResponseContext<T> request(RequestEntity<?> request) {
+        this.request = request;
+        return this;
+    }
+
+    /**
+     * Return the response body as String. A binary body is decoded on first access only.
+     */
+    synchronized String bodyAsString() {
+        if (bodyAsString == null) {
+            bodyAsString = ResponseEntityUtils.decodeBody(this);
+        }
+        return bodyAsString;
+    }
+
+    /**
+     * Return the response body parsed as JSON document. The body is parsed on first access only.
+     */
+    synchronized Object jsonDocument() {
+        if (jsonDocument == null) {
+            jsonDocument = parseJson();
+        }
+        return jsonDocument;
+    }
+
+    /**
+     * Return the response body parsed as namespace aware DOM document. The body is parsed on first access only.
+     */
+    synchronized Document xmlDocument() throws Exception {
+        if (xmlDocument == null) {
+            xmlDocument = parseXml();
+        }
+        return xmlDocument;
+    }
+
+    Object parseJson() {
+        return JsonPathExpectations.parse(this);
+    }
+
+    Document parseXml() throws Exception {
+        return XmlExpectations.parse(this);
+    }
+}
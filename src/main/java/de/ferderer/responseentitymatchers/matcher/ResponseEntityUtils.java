@@ -1,6 +1,14 @@
 package de.ferderer.responseentitymatchers.matcher;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.w3c.dom.Document;
 
 /**
  * Shared utilities for extracting data from response entities.
@@ -11,12 +19,77 @@ import org.springframework.http.HttpEntity;
 final class ResponseEntityUtils {
 
     /**
-     * Extract the response body as a String.
+     * Extract the response body as a String. Binary bodies are decoded using the charset of the content type,
+     * a {@link ResponseContext} decodes its body only once.
      */
     static String getBody(HttpEntity<?> result) {
+        return result instanceof ResponseContext<?> context ? context.bodyAsString() : decodeBody(result);
+    }
+
+    /**
+     * Extract the response body as a byte array. String bodies are encoded using the charset of the content type,
+     * bodies written to a file are read from it.
+     */
+    static byte[] getBodyAsBytes(HttpEntity<?> result) {
         Object body = result.getBody();
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof Path file) {
+            return readFile(file);
+        }
+        return body != null ? body.toString().getBytes(getCharset(result)) : null;
+    }
+
+    /**
+     * Return the charset of the response content type, falling back to UTF-8.
+     */
+    static Charset getCharset(HttpEntity<?> result) {
+        MediaType contentType = result.getHeaders().getContentType();
+        return contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset()
+            : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Return the response body parsed as JSON document. A {@link ResponseContext} parses its body once and
+     * shares the document across all matchers, any other entity is parsed on each call.
+     */
+    static Object getJsonDocument(HttpEntity<?> result) {
+        return result instanceof ResponseContext<?> context
+            ? context.jsonDocument()
+            : JsonPathExpectations.parse(result);
+    }
+
+    /**
+     * Return the response body parsed as DOM document. A {@link ResponseContext} parses its body once and
+     * shares the document across all matchers, any other entity is parsed on each call.
+     */
+    static Document getXmlDocument(HttpEntity<?> result) throws Exception {
+        return result instanceof ResponseContext<?> context
+            ? context.xmlDocument()
+            : XmlExpectations.parse(result);
+    }
+
+    static String decodeBody(HttpEntity<?> result) {
+        Object body = result.getBody();
+        if (body instanceof byte[] bytes) {
+            return new String(bytes, getCharset(result));
+        }
+        if (body instanceof Path file) {
+            return new String(readFile(file), getCharset(result));
+        }
         return body != null ? body.toString() : null;
     }
 
+    private static byte[] readFile(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
     private ResponseEntityUtils() {}
 }
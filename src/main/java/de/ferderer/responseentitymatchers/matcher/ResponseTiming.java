@@ -0,0 +1,22 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.time.Duration;
+
+/**
+ * Timing of a single exchange, measured with the monotonic {@link System#nanoTime()} clock.
+ *
+ * @param total time from sending the request until the response body has been read completely
+ * @param timeToFirstByte time from sending the request until the response status and headers have been received
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public record ResponseTiming(Duration total, Duration timeToFirstByte) {
+
+    /**
+     * Create the timing from {@code System.nanoTime()} timestamps taken around the exchange.
+     */
+    public static ResponseTiming of(long start, long firstByte, long end) {
+        return new ResponseTiming(Duration.ofNanos(end - start), Duration.ofNanos(firstByte - start));
+    }
+}
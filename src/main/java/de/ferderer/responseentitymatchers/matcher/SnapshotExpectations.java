@@ -0,0 +1,188 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.springframework.test.util.AssertionErrors.fail;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+
+/**
+ * Comparison of response bodies against approved snapshots stored under the test resources. The SHA-256 digest
+ * of the body is compared against the digest of the snapshot file first, which is computed once per file
+ * version. Only if the digests differ, the body is compared structurally, so that formatting and field order
+ * of JSON and XML bodies do not matter.
+ *
+ * <p>Snapshots are kept in the directory set via system property {@code testing.snapshot-dir}, by default
+ * {@code src/test/resources/snapshots}. System property {@code testing.snapshot-mode} controls how snapshots
+ * are maintained: {@code create} (default) writes missing snapshots, {@code update} additionally overwrites
+ * mismatching ones, and {@code verify} fails on missing snapshots, e.g. on CI.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+final class SnapshotExpectations {
+
+    /**
+     * Digests of snapshot files, keyed by path, size and modification time of the file.
+     */
+    static final ExpressionCache<String, byte[]> snapshotDigests = new ExpressionCache<>(1024);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Return the snapshot directory set via system property {@code testing.snapshot-dir}.
+     */
+    static Path directory() {
+        return Path.of(System.getProperty("testing.snapshot-dir", "src/test/resources/snapshots"));
+    }
+
+    /**
+     * Return the snapshot mode set via system property {@code testing.snapshot-mode}.
+     */
+    static Mode mode() {
+        return Mode.of(System.getProperty("testing.snapshot-mode", "create"));
+    }
+
+    static void assertMatchesSnapshot(String name, Path directory, Mode mode, HttpEntity<?> result)
+            throws Exception {
+        byte[] actual = ResponseEntityUtils.getBodyAsBytes(result);
+        if (actual == null) {
+            actual = new byte[0];
+        }
+        Path file = file(directory, name, result.getHeaders().getContentType());
+
+        if (!Files.exists(file)) {
+            if (mode == Mode.VERIFY) {
+                fail("Snapshot " + file + " does not exist");
+            }
+            write(file, actual);
+            return;
+        }
+        if (Arrays.equals(snapshotDigest(file), digest(actual))) {
+            return;
+        }
+        try {
+            assertStructurallyEqual(file, result);
+        }
+        catch (AssertionError error) {
+            if (mode != Mode.UPDATE) {
+                throw new AssertionError("Response content does not match snapshot " + file + "\n"
+                    + error.getMessage(), error);
+            }
+            write(file, actual);
+        }
+    }
+
+    /**
+     * Resolve the snapshot file. Unless the name has an extension, one is derived from the content type.
+     */
+    static Path file(Path directory, String name, MediaType contentType) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        return directory.resolve(fileName.contains(".") ? name : name + extension(contentType)).normalize();
+    }
+
+    private static void assertStructurallyEqual(Path file, HttpEntity<?> result) throws Exception {
+        MediaType contentType = result.getHeaders().getContentType();
+        Charset charset = ResponseEntityUtils.getCharset(result);
+        String expected = Files.readString(file, charset);
+        if (isJson(contentType)) {
+            Object document = ResponseEntityUtils.getJsonDocument(result);
+            JsonComparator.STRICT.assertEquals(JsonComparator.parse(expected), document);
+        }
+        else if (isXml(contentType)) {
+            XmlExpectations.assertXmlEqual(expected, ResponseEntityUtils.getXmlDocument(result));
+        }
+        else if (contentType == null || contentType.getType().equals("text")) {
+            String actual = ResponseEntityUtils.getBody(result);
+            fail("Response content differs", expected, actual != null ? actual : "");
+        }
+        else {
+            fail("Response content differs in binary content");
+        }
+    }
+
+    private static byte[] snapshotDigest(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String key = file.toAbsolutePath() + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        return snapshotDigests.get(key, k -> {
+            MessageDigest digest = sha256();
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int read; (read = in.read(buffer)) >= 0; ) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return digest.digest();
+        });
+    }
+
+    private static byte[] digest(byte[] content) {
+        return sha256().digest(content);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void write(Path file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+
+    private static String extension(MediaType contentType) {
+        if (isJson(contentType)) {
+            return ".json";
+        }
+        if (isXml(contentType)) {
+            return ".xml";
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.TEXT_HTML)) {
+            return ".html";
+        }
+        return contentType == null || contentType.getType().equals("text") ? ".txt" : ".bin";
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return contentType != null && (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+            || contentType.getSubtype().endsWith("+json"));
+    }
+
+    private static boolean isXml(MediaType contentType) {
+        return contentType != null && (contentType.isCompatibleWith(MediaType.APPLICATION_XML)
+            || contentType.isCompatibleWith(MediaType.TEXT_XML) || contentType.getSubtype().endsWith("+xml"));
+    }
+
+    private SnapshotExpectations() {}
+
+    /**
+     * How snapshots are maintained, see class comment.
+     */
+    enum Mode {
+        CREATE, UPDATE, VERIFY;
+
+        static Mode of(String mode) {
+            for (Mode value : values()) {
+                if (value.name().equalsIgnoreCase(mode)) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Unknown snapshot mode: " + mode);
+        }
+    }
+}
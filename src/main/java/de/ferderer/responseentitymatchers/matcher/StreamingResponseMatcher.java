@@ -0,0 +1,23 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A {@code StreamingResponseMatcher} performs assertions on the response body while it is read from the
+ * connection, without buffering it in memory. It is applied via
+ * {@link de.ferderer.responseentitymatchers.rest.RequestBuilder#perform(StreamingResponseMatcher)}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface StreamingResponseMatcher {
+
+    /**
+     * Performs an assertion on the response body stream. The supplied entity carries the status and the
+     * headers of the response, the body stream can be read once and is closed by the caller.
+     */
+    void match(ResponseEntity<?> response, InputStream body) throws IOException;
+}
@@ -0,0 +1,48 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.time.Duration;
+import org.hamcrest.Matcher;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Factory for assertions on the timing of the exchange. An instance of this class
+ * is typically accessed via {@link MatcherFactory#timing()}.
+ *
+ * <pre class="code">
+ * get("/path").perform()
+ *   .andExpect(timing().total(lessThan(ofMillis(200))));
+ * </pre>
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class TimingMatchers {
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#timing()}.
+     */
+    protected TimingMatchers() {}
+
+    /**
+     * Assert the total time of the exchange, including reading the response body.
+     */
+    public ResponseMatcher total(Matcher<? super Duration> matcher) {
+        return response -> assertThat("Response time", timing(response).total(), matcher);
+    }
+
+    /**
+     * Assert the time until the response status and headers have been received.
+     */
+    public ResponseMatcher timeToFirstByte(Matcher<? super Duration> matcher) {
+        return response -> assertThat("Time to first byte", timing(response).timeToFirstByte(), matcher);
+    }
+
+    private static ResponseTiming timing(ResponseEntity<?> response) {
+        if (response instanceof ResponseContext<?> context && context.timing() != null) {
+            return context.timing();
+        }
+        throw new AssertionError("No timing recorded for the response");
+    }
+}
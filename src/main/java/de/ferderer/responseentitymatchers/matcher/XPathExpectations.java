@@ -0,0 +1,121 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import org.hamcrest.Matcher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.xml.SimpleNamespaceContext;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * XPath assertions evaluated against the shared DOM document of a response. Mirrors the semantics of Spring's
+ * {@link org.springframework.test.util.XpathExpectationsHelper}, which parses the content and compiles the
+ * expression anew for every single assertion.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+class XPathExpectations {
+
+    private final String expression;
+    private final XPathExpression xpathExpression;
+
+    XPathExpectations(String expression, Map<String, String> namespaces) {
+        this.expression = expression;
+        this.xpathExpression = compile(expression, namespaces);
+    }
+
+    private static XPathExpression compile(String expression, Map<String, String> namespaces) {
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        if (!namespaces.isEmpty()) {
+            SimpleNamespaceContext context = new SimpleNamespaceContext();
+            context.setBindings(namespaces);
+            xpath.setNamespaceContext(context);
+        }
+        try {
+            return xpath.compile(expression);
+        }
+        catch (XPathExpressionException ex) {
+            throw new IllegalArgumentException("Invalid XPath expression: " + expression, ex);
+        }
+    }
+
+    void assertNode(ResponseEntity<?> result, Matcher<? super Node> matcher) throws Exception {
+        Node node = evaluate(result, XPathConstants.NODE);
+        assertThat("XPath " + expression, node, matcher);
+    }
+
+    void assertNodeList(ResponseEntity<?> result, Matcher<? super NodeList> matcher) throws Exception {
+        NodeList nodeList = evaluate(result, XPathConstants.NODESET);
+        assertThat("XPath " + expression, nodeList, matcher);
+    }
+
+    void exists(ResponseEntity<?> result) throws Exception {
+        Node node = evaluate(result, XPathConstants.NODE);
+        assertTrue("XPath " + expression + " does not exist", node != null);
+    }
+
+    void doesNotExist(ResponseEntity<?> result) throws Exception {
+        Node node = evaluate(result, XPathConstants.NODE);
+        assertTrue("XPath " + expression + " exists", node == null);
+    }
+
+    void assertNodeCount(ResponseEntity<?> result, Matcher<? super Integer> matcher) throws Exception {
+        assertThat("nodeCount for XPath " + expression, nodeCount(result), matcher);
+    }
+
+    void assertNodeCount(ResponseEntity<?> result, int expectedCount) throws Exception {
+        assertEquals("nodeCount for XPath " + expression, expectedCount, nodeCount(result));
+    }
+
+    void assertString(ResponseEntity<?> result, Matcher<? super String> matcher) throws Exception {
+        String actual = evaluate(result, XPathConstants.STRING);
+        assertThat("XPath " + expression, actual, matcher);
+    }
+
+    void assertString(ResponseEntity<?> result, String expectedValue) throws Exception {
+        String actual = evaluate(result, XPathConstants.STRING);
+        assertEquals("XPath " + expression, expectedValue, actual);
+    }
+
+    void assertNumber(ResponseEntity<?> result, Matcher<? super Double> matcher) throws Exception {
+        Double actual = evaluate(result, XPathConstants.NUMBER);
+        assertThat("XPath " + expression, actual, matcher);
+    }
+
+    void assertNumber(ResponseEntity<?> result, Double expectedValue) throws Exception {
+        Double actual = evaluate(result, XPathConstants.NUMBER);
+        assertEquals("XPath " + expression, expectedValue, actual);
+    }
+
+    void assertBoolean(ResponseEntity<?> result, Boolean expectedValue) throws Exception {
+        Boolean actual = evaluate(result, XPathConstants.BOOLEAN);
+        assertEquals("XPath " + expression, expectedValue, actual);
+    }
+
+    private int nodeCount(ResponseEntity<?> result) throws Exception {
+        NodeList nodeList = evaluate(result, XPathConstants.NODESET);
+        return nodeList != null ? nodeList.getLength() : 0;
+    }
+
+    /**
+     * Evaluate the compiled expression. {@link XPathExpression} is not thread-safe, so concurrent
+     * evaluations of the same cached expression are serialized.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T evaluate(ResponseEntity<?> result, QName returnType) throws Exception {
+        Node document = ResponseEntityUtils.getXmlDocument(result);
+        synchronized (xpathExpression) {
+            return (T) xpathExpression.evaluate(document, returnType);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.util.Map;
+import org.hamcrest.Matcher;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Factory for assertions on the response content using XPath expressions, the XML counterpart of
+ * {@link JsonPathMatchers}. An instance of this class is typically accessed via
+ * {@link MatcherFactory#xpath(String, Object...)} or {@link MatcherFactory#xpath(String, Map, Object...)}.
+ *
+ * <p>The response body is parsed once per {@link ResponseContext} and the resulting document is shared
+ * by all XML matchers of that response. Compiled expressions are kept in a bounded cache keyed by expression
+ * and namespaces, see {@link #expressionCache()}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class XPathMatchers {
+
+    private static final ExpressionCache<Key, XPathExpectations> cache = new ExpressionCache<>(1024);
+
+    private final XPathExpectations expectations;
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#xpath(String, Object...)} or {@link MatcherFactory#xpath(String, Map, Object...)}.
+     */
+    protected XPathMatchers(String expression, Map<String, String> namespaces, Object... args) {
+        this.expectations = cache.get(new Key(String.format(expression, args), Map.copyOf(namespaces)),
+            key -> new XPathExpectations(key.expression(), key.namespaces()));
+    }
+
+    /**
+     * Access to the cache of compiled XPath expressions shared by all matchers, e.g. to check its hit rate.
+     */
+    public static ExpressionCache<?, ?> expressionCache() {
+        return cache;
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link Node} content found with the given Hamcrest {@link Matcher}.
+     */
+    public ResponseMatcher node(Matcher<? super Node> matcher) {
+        return result -> expectations.assertNode(result, matcher);
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link NodeList} content found with the given Hamcrest {@link Matcher}.
+     */
+    public ResponseMatcher nodeList(Matcher<? super NodeList> matcher) {
+        return result -> expectations.assertNodeList(result, matcher);
+    }
+
+    /**
+     * Evaluate the XPath and assert that content exists.
+     */
+    public ResponseMatcher exists() {
+        return expectations::exists;
+    }
+
+    /**
+     * Evaluate the XPath and assert that content doesn't exist.
+     */
+    public ResponseMatcher doesNotExist() {
+        return expectations::doesNotExist;
+    }
+
+    /**
+     * Evaluate the XPath and assert the number of nodes found with the given Hamcrest {@link Matcher}.
+     */
+    public ResponseMatcher nodeCount(Matcher<? super Integer> matcher) {
+        return result -> expectations.assertNodeCount(result, matcher);
+    }
+
+    /**
+     * Evaluate the XPath and assert the number of nodes found.
+     */
+    public ResponseMatcher nodeCount(int expectedCount) {
+        return result -> expectations.assertNodeCount(result, expectedCount);
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link String} value found with the given Hamcrest {@link Matcher}.
+     */
+    public ResponseMatcher string(Matcher<? super String> matcher) {
+        return result -> expectations.assertString(result, matcher);
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link String} value found.
+     */
+    public ResponseMatcher string(String expectedValue) {
+        return result -> expectations.assertString(result, expectedValue);
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link Double} value found with the given Hamcrest {@link Matcher}.
+     */
+    public ResponseMatcher number(Matcher<? super Double> matcher) {
+        return result -> expectations.assertNumber(result, matcher);
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link Double} value found.
+     */
+    public ResponseMatcher number(Double expectedValue) {
+        return result -> expectations.assertNumber(result, expectedValue);
+    }
+
+    /**
+     * Evaluate the XPath and assert the {@link Boolean} value found.
+     */
+    public ResponseMatcher booleanValue(Boolean expectedValue) {
+        return result -> expectations.assertBoolean(result, expectedValue);
+    }
+
+    /**
+     * Evaluate the XPath and assert that the value found is equal to the supplied value. Numbers and booleans
+     * are compared as XPath number and boolean respectively, any other value as string.
+     */
+    public ResponseMatcher value(Object expectedValue) {
+        if (expectedValue instanceof Number number) {
+            return number(number.doubleValue());
+        }
+        if (expectedValue instanceof Boolean bool) {
+            return booleanValue(bool);
+        }
+        return string(String.valueOf(expectedValue));
+    }
+
+    /**
+     * Evaluate the XPath and assert the string value found with the given Hamcrest {@link Matcher}.
+     * Alias for {@link #string(Matcher)}.
+     */
+    public ResponseMatcher value(Matcher<? super String> matcher) {
+        return string(matcher);
+    }
+
+    /**
+     * Cache key, the same expression compiled with different namespace bindings may select different nodes.
+     */
+    private record Key(String expression, Map<String, String> namespaces) {}
+}
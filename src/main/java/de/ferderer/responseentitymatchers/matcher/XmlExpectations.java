@@ -0,0 +1,178 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.springframework.test.util.AssertionErrors.fail;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.springframework.http.HttpEntity;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.DefaultNodeMatcher;
+import org.xmlunit.diff.Diff;
+import org.xmlunit.diff.ElementSelectors;
+
+/**
+ * XML assertions evaluated against an already parsed DOM document. Mirrors the semantics of Spring's
+ * {@link org.springframework.test.util.XmlExpectationsHelper}, which accepts the raw content only and
+ * therefore parses the whole body, and creates a new parser, for every single assertion.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+final class XmlExpectations {
+
+    /**
+     * Document builders are neither thread-safe nor cheap to create, so each thread reuses its own one.
+     */
+    private static final ThreadLocal<DocumentBuilder> builders = ThreadLocal.withInitial(() -> {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            return factory.newDocumentBuilder();
+        }
+        catch (ParserConfigurationException ex) {
+            throw new IllegalStateException("Cannot create namespace aware XML parser", ex);
+        }
+    });
+
+    /**
+     * Same behaviour as the parser's default error handler, i.e. only fatal errors abort parsing, but without
+     * printing to standard error, since the exception is reported by the failing assertion anyway.
+     */
+    private static final ErrorHandler errorHandler = new ErrorHandler() {
+        @Override
+        public void warning(SAXParseException ex) {}
+
+        @Override
+        public void error(SAXParseException ex) {}
+
+        @Override
+        public void fatalError(SAXParseException ex) throws SAXException {
+            throw ex;
+        }
+    };
+
+    /**
+     * Expected documents shared by matchers created for the same content, e.g. in a loop. Each matcher keeps its
+     * own reference, so this cache only saves parsing when matchers are re-created and is kept small, since
+     * golden documents can be large.
+     */
+    static final ExpressionCache<String, ExpectedDocument> expectedDocuments = new ExpressionCache<>(16);
+
+    /**
+     * Parse the response body into a namespace aware DOM document. Binary bodies without an explicit charset
+     * are parsed straight from the bytes, so that the parser honours the encoding of the XML declaration.
+     */
+    static Document parse(HttpEntity<?> result) throws Exception {
+        DocumentBuilder builder = builder();
+        InputSource source = result.getBody() instanceof byte[] bytes && !hasCharset(result)
+            ? new InputSource(new ByteArrayInputStream(bytes))
+            : new InputSource(new StringReader(ResponseEntityUtils.getBody(result)));
+        return builder.parse(source);
+    }
+
+    /**
+     * Return the parsed expected document for the given content, see {@link ExpectedDocument}.
+     */
+    static ExpectedDocument expected(String content) {
+        return expectedDocuments.get(content, ExpectedDocument::new);
+    }
+
+    /**
+     * Assert that the expected content is "similar" to the actual document, see
+     * {@link ExpectedDocument#assertSimilar(Node)}.
+     */
+    static void assertXmlEqual(String expected, Node actual) {
+        expected(expected).assertSimilar(actual);
+    }
+
+    private static Document parseExpected(String expected) {
+        DocumentBuilder builder = builder();
+        try {
+            return builder.parse(new InputSource(new StringReader(expected)));
+        }
+        catch (SAXException | IOException ex) {
+            throw new IllegalArgumentException("Invalid expected XML content: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static DocumentBuilder builder() {
+        DocumentBuilder builder = builders.get();
+        builder.reset();
+        builder.setErrorHandler(errorHandler);
+        return builder;
+    }
+
+    private static boolean hasCharset(HttpEntity<?> result) {
+        return result.getHeaders().getContentType() != null && result.getHeaders().getContentType().getCharset() != null;
+    }
+
+    private XmlExpectations() {}
+
+    /**
+     * Expected content of an XML matcher, parsed when the matcher is created. DOM implementations are not
+     * thread-safe even for reading, so each comparison borrows a copy of the document of its own. Idle copies are
+     * pooled, a new one is only parsed when all are in use by concurrent comparisons.
+     */
+    static final class ExpectedDocument {
+
+        private final String content;
+        private final Queue<Document> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger copies = new AtomicInteger();
+
+        ExpectedDocument(String content) {
+            this.content = content;
+            idle.add(parse());
+        }
+
+        /**
+         * Assert that the actual document is "similar" to the expected one, i.e. contains the same elements
+         * and attributes regardless of order.
+         */
+        void assertSimilar(Node actual) {
+            Document control = idle.poll();
+            if (control == null) {
+                control = parse();
+            }
+            try {
+                Diff diff = DiffBuilder.compare(control)
+                    .withTest(actual)
+                    .withNodeMatcher(new DefaultNodeMatcher(ElementSelectors.byNameAndText))
+                    .ignoreWhitespace()
+                    .ignoreComments()
+                    .checkForSimilar()
+                    .build();
+                if (diff.hasDifferences()) {
+                    fail("Body content " + diff.fullDescription());
+                }
+            }
+            finally {
+                idle.add(control);
+            }
+        }
+
+        /**
+         * Number of copies parsed so far.
+         */
+        int copies() {
+            return copies.get();
+        }
+
+        private Document parse() {
+            Document document = parseExpected(content);
+            copies.incrementAndGet();
+            return document;
+        }
+    }
+}
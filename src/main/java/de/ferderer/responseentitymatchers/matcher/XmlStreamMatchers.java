@@ -0,0 +1,388 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.util.AssertionErrors.fail;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.Matcher;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Factory for assertions on large XML response bodies. All expectations are evaluated together in a single
+ * pass over the body stream using a StAX parser, so memory use depends on the nesting depth of the document
+ * and the size of the selected values, but not on the size of the document.
+ *
+ * <p>Paths are a subset of XPath: absolute location paths of element names, wildcards {@code *} and positions
+ * {@code [n]}, optionally starting with {@code //} and ending with an attribute {@code @name}. Values are
+ * presented to the matchers as {@link String}, i.e. the text content of an element or the attribute value.
+ *
+ * <pre class="code">
+ * get("/feed").perform(xmlStream()
+ *     .value("/feed/title", "Partner feed")
+ *     .count("/feed/entry", is(100_000))
+ *     .each("/feed/entry/@id", matchesPattern("[0-9]+")));
+ * </pre>
+ *
+ * <p>An instance of this class is typically accessed via {@link MatcherFactory#xmlStream()}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class XmlStreamMatchers implements StreamingResponseMatcher {
+
+    private static final XMLInputFactory factory = createFactory();
+
+    private final Map<String, String> namespaces;
+    private final List<Expectation> expectations = new ArrayList<>();
+
+    /**
+     * Protected constructor, not for direct instantiation.
+     * Use {@link MatcherFactory#xmlStream()} or {@link MatcherFactory#xmlStream(Map)}.
+     */
+    protected XmlStreamMatchers(Map<String, String> namespaces) {
+        this.namespaces = Map.copyOf(namespaces);
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Assert the text content of the first element, or the value of the first attribute, selected by the given
+     * definite path with the given Hamcrest {@link Matcher}.
+     */
+    public XmlStreamMatchers value(String path, Matcher<? super String> matcher) {
+        expectations.add(new ValueExpectation(definite(path), matcher));
+        return this;
+    }
+
+    /**
+     * Assert that the text content of the first element, or the value of the first attribute, selected by the
+     * given definite path is equal to the supplied value.
+     */
+    public XmlStreamMatchers value(String path, String expectedValue) {
+        return value(path, CoreMatchers.equalTo(expectedValue));
+    }
+
+    /**
+     * Assert that the given path selects at least one element or attribute.
+     */
+    public XmlStreamMatchers exists(String path) {
+        expectations.add(new PresenceExpectation(new XmlStreamPath(path, namespaces), true));
+        return this;
+    }
+
+    /**
+     * Assert that the given path selects no element or attribute.
+     */
+    public XmlStreamMatchers doesNotExist(String path) {
+        expectations.add(new PresenceExpectation(new XmlStreamPath(path, namespaces), false));
+        return this;
+    }
+
+    /**
+     * Assert the number of elements or attributes selected by the given path with the given Hamcrest
+     * {@link Matcher}.
+     */
+    public XmlStreamMatchers count(String path, Matcher<? super Integer> matcher) {
+        expectations.add(new CountExpectation(new XmlStreamPath(path, namespaces), matcher));
+        return this;
+    }
+
+    /**
+     * Assert the number of elements or attributes selected by the given path.
+     */
+    public XmlStreamMatchers count(String path, int expectedCount) {
+        return count(path, CoreMatchers.equalTo(expectedCount));
+    }
+
+    /**
+     * Assert the text content of every element, or the value of every attribute, selected by the given path
+     * with the given Hamcrest {@link Matcher}. Each value is collected on its own, so this is suitable for
+     * documents with any number of elements.
+     */
+    public XmlStreamMatchers each(String path, Matcher<? super String> matcher) {
+        expectations.add(new EachExpectation(new XmlStreamPath(path, namespaces), matcher));
+        return this;
+    }
+
+    @Override
+    public void match(ResponseEntity<?> response, InputStream body) throws IOException {
+        try {
+            XMLStreamReader reader = createReader(response, body);
+            try {
+                Evaluation evaluation = new Evaluation(reader);
+                evaluation.run();
+                evaluation.verify();
+            }
+            finally {
+                reader.close();
+            }
+        }
+        catch (XMLStreamException ex) {
+            throw new AssertionError("Response content is not valid XML: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static XMLStreamReader createReader(ResponseEntity<?> response, InputStream body) throws XMLStreamException {
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType != null && contentType.getCharset() != null
+            ? factory.createXMLStreamReader(body, contentType.getCharset().name())
+            : factory.createXMLStreamReader(body);
+    }
+
+    private XmlStreamPath definite(String path) {
+        XmlStreamPath streamPath = new XmlStreamPath(path, namespaces);
+        if (!streamPath.isDefinite()) {
+            throw new IllegalArgumentException("XPath must be definite: " + path);
+        }
+        return streamPath;
+    }
+
+    private abstract static class Expectation {
+
+        final XmlStreamPath path;
+
+        Expectation(XmlStreamPath path) {
+            this.path = path;
+        }
+
+        /**
+         * Return whether the value of the given match, counting from 1, is to be collected.
+         */
+        boolean needsValue(int match) {
+            return false;
+        }
+
+        void value(String value, Location location) {}
+
+        abstract void verify(int matches);
+    }
+
+    private static class ValueExpectation extends Expectation {
+
+        private final Matcher<? super String> matcher;
+
+        ValueExpectation(XmlStreamPath path, Matcher<? super String> matcher) {
+            super(path);
+            this.matcher = matcher;
+        }
+
+        @Override
+        boolean needsValue(int match) {
+            return match == 1;
+        }
+
+        @Override
+        void value(String value, Location location) {
+            assertThat("XPath " + path, value, matcher);
+        }
+
+        @Override
+        void verify(int matches) {
+            assertTrue("XPath " + path + " does not exist", matches > 0);
+        }
+    }
+
+    private static class EachExpectation extends Expectation {
+
+        private final Matcher<? super String> matcher;
+
+        EachExpectation(XmlStreamPath path, Matcher<? super String> matcher) {
+            super(path);
+            this.matcher = matcher;
+        }
+
+        @Override
+        boolean needsValue(int match) {
+            return true;
+        }
+
+        @Override
+        void value(String value, Location location) {
+            if (!matcher.matches(value)) {
+                assertThat("XPath " + path + " at " + location.describe(), value, matcher);
+            }
+        }
+
+        @Override
+        void verify(int matches) {}
+    }
+
+    private static class PresenceExpectation extends Expectation {
+
+        private final boolean expected;
+
+        PresenceExpectation(XmlStreamPath path, boolean expected) {
+            super(path);
+            this.expected = expected;
+        }
+
+        @Override
+        void verify(int matches) {
+            if (expected) {
+                assertTrue("XPath " + path + " does not exist", matches > 0);
+            }
+            else if (matches > 0) {
+                fail("XPath " + path + " exists");
+            }
+        }
+    }
+
+    private static class CountExpectation extends Expectation {
+
+        private final Matcher<? super Integer> matcher;
+
+        CountExpectation(XmlStreamPath path, Matcher<? super Integer> matcher) {
+            super(path);
+            this.matcher = matcher;
+        }
+
+        @Override
+        void verify(int matches) {
+            assertThat("nodeCount for XPath " + path, matches, matcher);
+        }
+    }
+
+    /**
+     * Location of a selected node, rendered for failure messages only.
+     */
+    @FunctionalInterface
+    private interface Location {
+        String describe();
+    }
+
+    /**
+     * State of a single pass over the event stream. Tracks the current location as a stack of frames,
+     * the number of matches per expectation and the text collected for the selected elements.
+     */
+    private class Evaluation implements Location {
+
+        private final XMLStreamReader reader;
+        private final List<Frame> frames = new ArrayList<>();
+        private final List<Capture> captures = new ArrayList<>();
+        private final int[] matches = new int[expectations.size()];
+        private int depth;
+
+        Evaluation(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        void run() throws XMLStreamException {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> startElement();
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                        if (!captures.isEmpty()) {
+                            String text = reader.getText();
+                            for (Capture capture : captures) {
+                                capture.text.append(text);
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> endElement();
+                    default -> {}
+                }
+            }
+        }
+
+        void verify() {
+            for (int i = 0; i < expectations.size(); i++) {
+                expectations.get(i).verify(matches[i]);
+            }
+        }
+
+        private void startElement() {
+            QName name = reader.getName();
+            int position = depth > 0 ? frames.get(depth - 1).childPosition(name) : 1;
+            if (depth == frames.size()) {
+                frames.add(new Frame());
+            }
+            Frame frame = frames.get(depth++);
+            frame.name = name;
+            frame.position = position;
+            frame.children.clear();
+
+            for (int i = 0; i < expectations.size(); i++) {
+                Expectation expectation = expectations.get(i);
+                if (!expectation.path.matches(frames, depth)) {
+                    continue;
+                }
+                if (expectation.path.isAttribute()) {
+                    for (int a = 0; a < reader.getAttributeCount(); a++) {
+                        QName attribute = reader.getAttributeName(a);
+                        if (expectation.path.matchesAttribute(attribute) && expectation.needsValue(++matches[i])) {
+                            expectation.value(reader.getAttributeValue(a),
+                                () -> describe() + "/@" + attribute.getLocalPart());
+                        }
+                    }
+                }
+                else if (expectation.needsValue(++matches[i])) {
+                    captures.add(new Capture(expectation, depth));
+                }
+            }
+        }
+
+        private void endElement() {
+            for (int i = 0; i < captures.size(); i++) {
+                Capture capture = captures.get(i);
+                if (capture.depth == depth) {
+                    captures.remove(i--);
+                    // the frames still describe the element until depth is decremented below
+                    capture.expectation.value(capture.text.toString(), this);
+                }
+            }
+            depth--;
+        }
+
+        @Override
+        public String describe() {
+            StringBuilder location = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                Frame frame = frames.get(i);
+                location.append('/').append(frame.name.getLocalPart()).append('[').append(frame.position).append(']');
+            }
+            return location.toString();
+        }
+    }
+
+    /**
+     * One open element of the current location with its position among the siblings of the same name,
+     * and the number of children seen so far per name to determine the positions of the following ones.
+     */
+    static class Frame {
+        QName name;
+        int position;
+        final Map<QName, Integer> children = new HashMap<>();
+
+        int childPosition(QName child) {
+            return children.merge(child, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Text content being collected for a selected element until its end tag.
+     */
+    private record Capture(Expectation expectation, int depth, StringBuilder text) {
+
+        Capture(Expectation expectation, int depth) {
+            this(expectation, depth, new StringBuilder());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+
+/**
+ * Compiled form of the simple XPath expressions supported by the streaming XML matchers: absolute location
+ * paths of element names ({@code /feed/entry}), wildcards ({@code *}) and positions ({@code entry[2]}),
+ * optionally starting with {@code //} to select at any depth and ending with an attribute ({@code @id}).
+ * Predicates other than positions, axes and functions need the whole document and are therefore rejected.
+ *
+ * <p>Prefixed names are resolved using the supplied namespace bindings, unprefixed names match the local
+ * name in any namespace.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+class XmlStreamPath {
+
+    private final String expression;
+    private final boolean descendant;
+    private final Step[] steps;
+    private final Step attribute;
+
+    XmlStreamPath(String expression, Map<String, String> namespaces) {
+        this.expression = expression;
+        if (!expression.startsWith("/") || expression.equals("/") || expression.equals("//")) {
+            throw unsupported(expression);
+        }
+        this.descendant = expression.startsWith("//");
+        List<Step> compiled = new ArrayList<>();
+        Step attr = null;
+        String[] parts = expression.substring(descendant ? 2 : 1).split("/", -1);
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.startsWith("@") && i == parts.length - 1 && i > 0) {
+                attr = step(expression, part.substring(1), namespaces, false);
+            }
+            else {
+                compiled.add(step(expression, part, namespaces, true));
+            }
+        }
+        this.steps = compiled.toArray(Step[]::new);
+        this.attribute = attr;
+    }
+
+    /**
+     * Return whether the path selects an attribute rather than an element.
+     */
+    boolean isAttribute() {
+        return attribute != null;
+    }
+
+    /**
+     * Return whether the path selects nodes at one location only: no {@code //} and no wildcards.
+     * Unpositioned steps may still select several siblings.
+     */
+    boolean isDefinite() {
+        if (descendant) {
+            return false;
+        }
+        for (Step step : steps) {
+            if (step.name == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return whether the element steps select the element described by the first {@code depth} frames.
+     */
+    boolean matches(List<XmlStreamMatchers.Frame> frames, int depth) {
+        if (descendant ? depth < steps.length : depth != steps.length) {
+            return false;
+        }
+        int offset = depth - steps.length;
+        for (int i = steps.length - 1; i >= 0; i--) {
+            XmlStreamMatchers.Frame frame = frames.get(offset + i);
+            if (!steps[i].matches(frame.name) || steps[i].position > 0 && steps[i].position != frame.position) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return whether the attribute step matches the given attribute name.
+     */
+    boolean matchesAttribute(QName name) {
+        return attribute.matches(name);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static Step step(String expression, String part, Map<String, String> namespaces, boolean element) {
+        int position = 0;
+        int bracket = part.indexOf('[');
+        if (bracket >= 0) {
+            if (!element || !part.endsWith("]")) {
+                throw unsupported(expression);
+            }
+            try {
+                position = Integer.parseInt(part.substring(bracket + 1, part.length() - 1).trim());
+            }
+            catch (NumberFormatException ex) {
+                throw unsupported(expression);
+            }
+            if (position < 1) {
+                throw unsupported(expression);
+            }
+            part = part.substring(0, bracket);
+        }
+        if (part.equals("*")) {
+            return new Step(null, null, position);
+        }
+        if (part.isEmpty() || !isName(part)) {
+            throw unsupported(expression);
+        }
+        int colon = part.indexOf(':');
+        if (colon < 0) {
+            return new Step(null, part, position);
+        }
+        String prefix = part.substring(0, colon);
+        String namespace = namespaces.get(prefix);
+        if (namespace == null) {
+            throw new IllegalArgumentException("Unbound namespace prefix '" + prefix + "' in XPath: " + expression);
+        }
+        return new Step(namespace, part.substring(colon + 1), position);
+    }
+
+    private static boolean isName(String part) {
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.' && c != ':') {
+                return false;
+            }
+        }
+        return part.indexOf(':') == part.lastIndexOf(':') && !part.startsWith(":") && !part.endsWith(":");
+    }
+
+    private static IllegalArgumentException unsupported(String expression) {
+        return new IllegalArgumentException("Unsupported streaming XPath: " + expression);
+    }
+
+    /**
+     * An element or attribute name, {@code null} for the wildcard, with an optional namespace and position.
+     */
+    private record Step(String namespace, String name, int position) {
+
+        boolean matches(QName qname) {
+            return (name == null || name.equals(qname.getLocalPart()))
+                && (namespace == null || namespace.equals(qname.getNamespaceURI()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package de.ferderer.responseentitymatchers.replay;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A response as kept in a {@link ResponseStore}.
+ *
+ * @param status the response status
+ * @param headers the response headers
+ * @param body the raw response body, {@code null} if there was none
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public record RecordedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
@@ -0,0 +1,42 @@
+package de.ferderer.responseentitymatchers.replay;
+
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import java.io.IOException;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+/**
+ * Transport serving recorded responses from a {@link ResponseStore} instead of sending requests, so that
+ * assertion suites can be run without starting the application. The request body is ignored.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class ReplayTransport implements HttpTransport {
+
+    private final ResponseStore store;
+
+    public ReplayTransport(ResponseStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public ClientHttpResponse open(RequestEntity<?> request, Class<?> responseType) {
+        String key = ResponseStore.key(request);
+        RecordedResponse recorded;
+        try {
+            recorded = store.replay(key);
+        }
+        catch (IOException ex) {
+            throw HttpTransport.ioError(request, ex);
+        }
+        if (recorded == null) {
+            throw new IllegalStateException("No recorded response for " + key);
+        }
+        byte[] body = recorded.body() != null ? recorded.body() : new byte[0];
+        MockClientHttpResponse response = new MockClientHttpResponse(body, recorded.status());
+        response.getHeaders().putAll(recorded.headers());
+        return response;
+    }
+}
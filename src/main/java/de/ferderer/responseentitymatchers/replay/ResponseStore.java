@@ -0,0 +1,246 @@
+package de.ferderer.responseentitymatchers.replay;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import de.ferderer.responseentitymatchers.matcher.ResponseContext;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Append-only on-disk store of recorded responses, filled via
+ * {@link de.ferderer.responseentitymatchers.handler.HandlerFactory#record(ResponseStore)} and served by a
+ * {@link ReplayTransport}.
+ *
+ * <p>The store consists of two files in one directory: {@code responses.dat} holds length-prefixed records of
+ * key, status, headers and body, {@code responses.idx} maps each key to the offsets of its records. The index is
+ * loaded on opening, so that each response is read with a single positional read.
+ *
+ * <p>Responses are keyed by method, path and query of the request, so that host and port may differ between
+ * recording and replay. A key recorded several times, e.g. before and after a modifying request, is replayed in
+ * the same order; once all its recordings have been replayed, the last one is served again.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class ResponseStore implements Closeable {
+
+    static final String DATA_FILE = "responses.dat";
+    static final String INDEX_FILE = "responses.idx";
+
+    /**
+     * Largest body that fits into a record, which is read into a single array on replay.
+     */
+    private static final long MAX_BODY_SIZE = Integer.MAX_VALUE - 1024;
+
+    private final FileChannel data;
+    private final DataOutputStream index;
+    private final Map<String, List<Long>> offsets = new HashMap<>();
+    private final Map<String, Integer> replayed = new HashMap<>();
+
+    /**
+     * Open the store in the supplied directory, creating it if necessary.
+     */
+    public ResponseStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        data = FileChannel.open(directory.resolve(DATA_FILE), CREATE, READ, WRITE);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (Files.exists(indexFile)) {
+            readIndex(indexFile, data.size());
+        }
+        index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile, CREATE, APPEND)));
+    }
+
+    /**
+     * Return the key of the supplied request: method, path and query, e.g. {@code GET /users?page=1}.
+     */
+    public static String key(RequestEntity<?> request) {
+        URI url = request.getUrl();
+        String path = url.getRawPath() == null || url.getRawPath().isEmpty() ? "/" : url.getRawPath();
+        return request.getMethod() + " " + path + (url.getRawQuery() != null ? "?" + url.getRawQuery() : "");
+    }
+
+    /**
+     * Record a response obtained via {@code RequestBuilder.perform()}, which knows its request. String bodies are
+     * stored encoded with the charset of the response, bodies written to a file via {@code bodyToFile()} with the
+     * content of the file.
+     */
+    public void record(ResponseEntity<?> response) throws IOException {
+        if (!(response instanceof ResponseContext<?> context) || context.request() == null) {
+            throw new IllegalArgumentException("Only responses obtained via RequestBuilder.perform() can be recorded");
+        }
+        record(key(context.request()), new RecordedResponse(response.getStatusCode(), response.getHeaders(),
+            bodyAsBytes(response)));
+    }
+
+    /**
+     * Record a response under the supplied key.
+     */
+    public synchronized void record(String key, RecordedResponse response) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(0);
+        writeString(out, key);
+        out.writeInt(response.status().value());
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        response.headers().forEach((name, values) -> values.forEach(value -> headers.add(Map.entry(name, value))));
+        out.writeInt(headers.size());
+        for (Map.Entry<String, String> header : headers) {
+            writeString(out, header.getKey());
+            writeString(out, header.getValue());
+        }
+        byte[] body = response.body();
+        out.writeInt(body != null ? body.length : -1);
+        if (body != null) {
+            out.write(body);
+        }
+        ByteBuffer record = ByteBuffer.wrap(buffer.toByteArray());
+        record.putInt(0, record.limit() - Integer.BYTES);
+
+        long offset = data.size();
+        while (record.hasRemaining()) {
+            data.write(record, offset + record.position());
+        }
+        writeString(index, key);
+        index.writeLong(offset);
+        index.flush();
+        offsets.computeIfAbsent(key, k -> new ArrayList<>()).add(offset);
+    }
+
+    /**
+     * Return the next recording of the key, see class comment, or {@code null} if the key has not been recorded.
+     */
+    public synchronized RecordedResponse replay(String key) throws IOException {
+        List<Long> recordings = offsets.get(key);
+        if (recordings == null) {
+            return null;
+        }
+        int occurrence = replayed.merge(key, 1, Integer::sum) - 1;
+        return read(recordings.get(Math.min(occurrence, recordings.size() - 1)));
+    }
+
+    /**
+     * Return the number of recorded responses.
+     */
+    public synchronized int size() {
+        return offsets.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Start replaying every key from its first recording again.
+     */
+    public synchronized void rewind() {
+        replayed.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        index.close();
+        data.close();
+    }
+
+    private RecordedResponse read(long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(length, offset);
+        ByteBuffer record = ByteBuffer.allocate(length.getInt(0));
+        readFully(record, offset + Integer.BYTES);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.array()));
+        readString(in);
+        HttpStatusCode status = HttpStatusCode.valueOf(in.readInt());
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = in.readInt(); i > 0; i--) {
+            headers.add(readString(in), readString(in));
+        }
+        int bodyLength = in.readInt();
+        byte[] body = bodyLength < 0 ? null : in.readNBytes(bodyLength);
+        return new RecordedResponse(status, headers, body);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated record at offset " + position);
+            }
+        }
+    }
+
+    /**
+     * Load the index, skipping entries whose record was not completely written, e.g. after a crash.
+     */
+    private void readIndex(Path indexFile, long dataSize) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            while (true) {
+                String key;
+                long offset;
+                try {
+                    key = readString(in);
+                    offset = in.readLong();
+                }
+                catch (EOFException ex) {
+                    return;
+                }
+                if (offset < dataSize) {
+                    offsets.computeIfAbsent(key, k -> new ArrayList<>()).add(offset);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a length-prefixed UTF-8 string. Unlike {@link DataOutputStream#writeUTF(String)} it is not limited to
+     * 65535 bytes, which large headers such as {@code Content-Security-Policy} can exceed.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bodyAsBytes(ResponseEntity<?> response) throws IOException {
+        Object body = response.getBody();
+        if (body == null || body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof Path file) {
+            long size = Files.size(file);
+            if (size > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("Response body of " + size + " bytes is too large to be recorded");
+            }
+            return Files.readAllBytes(file);
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset()
+            : StandardCharsets.UTF_8;
+        return body.toString().getBytes(charset);
+    }
+}
@@ -0,0 +1,94 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import de.ferderer.responseentitymatchers.handler.ResponseHandler;
+import de.ferderer.responseentitymatchers.matcher.ResponseMatcher;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Future of a request performed asynchronously, see {@link RequestBuilder#performAsync()}. Expectations and
+ * actions can be chained before the response arrives; they are applied in order once it is available. The
+ * first failure completes the whole chain exceptionally and is rethrown by {@link #await()}.
+ *
+ * <pre class="code">
+ * var first = get("/first").performAsync().andExpect(status().isOk());
+ * var second = get("/second").performAsync().andExpect(status().isOk());
+ * first.await();
+ * second.await();
+ * </pre>
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class AsyncResponseActions extends CompletableFuture<ResponseActions> {
+
+    /**
+     * Performs an assertion on the response entity as soon as it is available.
+     */
+    public AsyncResponseActions andExpect(ResponseMatcher matcher) {
+        return then(actions -> actions.andExpect(matcher));
+    }
+
+    /**
+     * Performs all assertions on the response entity as soon as it is available and reports every failure together.
+     */
+    public AsyncResponseActions andExpectAll(ResponseMatcher... matchers) {
+        return then(actions -> actions.andExpectAll(matchers));
+    }
+
+    /**
+     * Executes an action on the response entity as soon as it is available.
+     */
+    public AsyncResponseActions andDo(ResponseHandler handler) {
+        return then(actions -> actions.andDo(handler));
+    }
+
+    /**
+     * Waits for the request and all chained expectations to complete. Assertion errors and exceptions
+     * raised by the request or the expectations are rethrown as is, not wrapped.
+     */
+    public ResponseActions await() throws Exception {
+        try {
+            return get();
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for completion and returns the response entity for further examination.
+     */
+    public ResponseEntity<?> andReturn() throws Exception {
+        return await().andReturn();
+    }
+
+    private AsyncResponseActions then(Step step) {
+        AsyncResponseActions next = new AsyncResponseActions();
+        whenComplete((actions, failure) -> {
+            if (failure != null) {
+                next.completeExceptionally(failure);
+                return;
+            }
+            try {
+                next.complete(step.apply(actions));
+            }
+            catch (Throwable ex) {
+                next.completeExceptionally(ex);
+            }
+        });
+        return next;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        ResponseActions apply(ResponseActions actions) throws Exception;
+    }
+}
@@ -0,0 +1,99 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import de.ferderer.responseentitymatchers.handler.ResponseHandler;
+import de.ferderer.responseentitymatchers.matcher.ResponseMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Results of several requests performed concurrently, see
+ * {@link de.ferderer.responseentitymatchers.WebTestBase#performAll(RequestBuilder...)}. Expectations are applied
+ * to every response, and all failures are reported together instead of stopping at the first one.
+ *
+ * <pre class="code">
+ * performAll(post("/users").withContent(jane), post("/users").withContent(john))
+ *   .andExpect(status().isCreated())
+ *   .andExpect(jsonPath("$.id").exists());
+ * </pre>
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class BatchResponseActions {
+
+    private final List<ResponseActions> responses;
+
+    BatchResponseActions(List<ResponseActions> responses) {
+        this.responses = Collections.unmodifiableList(responses);
+    }
+
+    /**
+     * Perform all requests with at most {@code parallelism} of them in flight at the same time. Waits for all
+     * requests to complete and fails with all collected errors if any of them could not be performed.
+     */
+    public static BatchResponseActions perform(List<RequestBuilder> builders, int parallelism) throws Exception {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        Semaphore permits = new Semaphore(parallelism);
+        List<AsyncResponseActions> futures = new ArrayList<>(builders.size());
+        for (RequestBuilder builder : builders) {
+            permits.acquire();
+            AsyncResponseActions future = builder.performAsync();
+            future.whenComplete((actions, failure) -> permits.release());
+            futures.add(future);
+        }
+
+        FailureCollector failures = new FailureCollector();
+        List<ResponseActions> responses = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                responses.add(futures.get(i).await());
+            }
+            catch (Throwable ex) {
+                failures.add("Request #" + i, ex);
+            }
+        }
+        failures.verify("Performing " + builders.size() + " requests");
+        return new BatchResponseActions(responses);
+    }
+
+    /**
+     * Performs an assertion on every response entity and reports all failures together.
+     */
+    public BatchResponseActions andExpect(ResponseMatcher matcher) {
+        FailureCollector failures = new FailureCollector();
+        for (int i = 0; i < responses.size(); i++) {
+            ResponseActions response = responses.get(i);
+            failures.check("Response #" + i, () -> response.andExpect(matcher));
+        }
+        failures.verify("Expectation on " + responses.size() + " responses");
+        return this;
+    }
+
+    /**
+     * Executes an action on every response entity.
+     */
+    public BatchResponseActions andDo(ResponseHandler handler) throws Exception {
+        for (ResponseActions response : responses) {
+            response.andDo(handler);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the response with the given index, in the order the requests were supplied.
+     */
+    public ResponseActions get(int index) {
+        return responses.get(index);
+    }
+
+    /**
+     * Returns all responses in the order the requests were supplied.
+     */
+    public List<ResponseActions> andReturn() {
+        return responses;
+    }
+}
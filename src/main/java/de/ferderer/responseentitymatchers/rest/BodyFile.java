@@ -0,0 +1,91 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Temporary file holding a response body, see {@link RequestBuilder#bodyToFile()}. The file is deleted when the
+ * owning response is closed, or at the latest once it becomes unreachable, unless it was handed over to the caller.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+final class BodyFile {
+
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final Deletion deletion;
+    private final Cleaner.Cleanable cleanable;
+
+    private BodyFile(Object owner, Path file) {
+        this.deletion = new Deletion(file);
+        this.cleanable = cleaner.register(owner, deletion);
+    }
+
+    /**
+     * Stream the body of the response to a new temporary file.
+     */
+    static Path write(ClientHttpResponse response) throws IOException {
+        Path file = Files.createTempFile("response-", ".body");
+        try {
+            Files.copy(response.getBody(), file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return file;
+    }
+
+    /**
+     * Delete the file once the owner becomes unreachable or {@link #delete()} is called, whichever is first.
+     */
+    static BodyFile deleteWith(Object owner, Path file) {
+        return new BodyFile(owner, file);
+    }
+
+    /**
+     * Keep the file once the owner becomes unreachable, it is only deleted by {@link #delete()}.
+     */
+    void detach() {
+        deletion.detached = true;
+    }
+
+    /**
+     * Delete the file now, also if it was detached. The owner must still be reachable.
+     */
+    void delete() {
+        deletion.detached = false;
+        cleanable.clean();
+    }
+
+    /**
+     * Cleaning action, must not refer to the owner.
+     */
+    private static final class Deletion implements Runnable {
+
+        private final Path file;
+        private volatile boolean detached;
+
+        Deletion(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void run() {
+            if (detached) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(file);
+            }
+            catch (IOException ex) {
+                // the temporary directory is cleaned up by the system eventually
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects failures of several independent assertions and reports them together in one {@link AssertionError}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+class FailureCollector {
+
+    private final List<String> labels = new ArrayList<>();
+    private final List<Throwable> failures = new ArrayList<>();
+
+    /**
+     * Run the assertion and record its failure, if any, under the given label.
+     */
+    void check(String label, Assertion assertion) {
+        try {
+            assertion.run();
+        }
+        catch (Throwable ex) {
+            add(label, ex);
+        }
+    }
+
+    void add(String label, Throwable failure) {
+        labels.add(label);
+        failures.add(failure);
+    }
+
+    /**
+     * Throw an {@link AssertionError} listing all recorded failures, which are attached as suppressed exceptions.
+     * A single recorded assertion error is rethrown as is.
+     */
+    void verify(String summary) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        if (failures.size() == 1 && failures.get(0) instanceof AssertionError error) {
+            throw error;
+        }
+        StringBuilder message = new StringBuilder(summary).append(": ").append(failures.size()).append(" failure(s)");
+        for (int i = 0; i < failures.size(); i++) {
+            message.append(System.lineSeparator()).append("  ").append(labels.get(i)).append(": ")
+                .append(failures.get(i).getMessage());
+        }
+        AssertionError error = new AssertionError(message.toString());
+        failures.forEach(error::addSuppressed);
+        throw error;
+    }
+
+    @FunctionalInterface
+    interface Assertion {
+        void run() throws Exception;
+    }
+}
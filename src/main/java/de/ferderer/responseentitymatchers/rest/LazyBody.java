@@ -0,0 +1,81 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.util.function.Supplier;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Body of an open response, read on first access and closed afterwards. Responses whose body is never accessed
+ * are closed once the owning entity becomes unreachable, so that their connection is released eventually.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+class LazyBody implements Supplier<Object> {
+
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final ClientHttpResponse response;
+    private final BodyReader reader;
+    private Cleaner.Cleanable cleanable;
+    private boolean read;
+    private Object body;
+    private UncheckedIOException failure;
+
+    LazyBody(ClientHttpResponse response, BodyReader reader) {
+        this.response = response;
+        this.reader = reader;
+    }
+
+    /**
+     * Close the response once the owner becomes unreachable, unless the body has been read before.
+     */
+    synchronized <T> T closeWith(T owner) {
+        if (!read) {
+            cleanable = cleaner.register(owner, new Connection(response));
+        }
+        return owner;
+    }
+
+    @Override
+    public synchronized Object get() {
+        if (!read) {
+            read = true;
+            try {
+                body = reader.read(response);
+            }
+            catch (IOException ex) {
+                failure = new UncheckedIOException("Failed to read response body", ex);
+            }
+            finally {
+                if (cleanable != null) {
+                    cleanable.clean();
+                }
+                else {
+                    response.close();
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return body;
+    }
+
+    @FunctionalInterface
+    interface BodyReader {
+        Object read(ClientHttpResponse response) throws IOException;
+    }
+
+    /**
+     * Cleaning action, must not refer to the owner.
+     */
+    private record Connection(ClientHttpResponse response) implements Runnable {
+        @Override
+        public void run() {
+            response.close();
+        }
+    }
+}
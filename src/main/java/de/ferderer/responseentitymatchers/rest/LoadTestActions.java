@@ -0,0 +1,34 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import de.ferderer.responseentitymatchers.load.LoadTestResult;
+import de.ferderer.responseentitymatchers.matcher.LoadTestMatcher;
+
+/**
+ * Fluent interface for assertions on the aggregate result of a load test, see {@link LoadTestBuilder}.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class LoadTestActions {
+
+    private final LoadTestResult result;
+
+    public LoadTestActions(LoadTestResult result) {
+        this.result = result;
+    }
+
+    /**
+     * Performs an assertion on the load test result.
+     */
+    public LoadTestActions andExpect(LoadTestMatcher matcher) throws Exception {
+        matcher.match(result);
+        return this;
+    }
+
+    /**
+     * Returns the load test result for further examination.
+     */
+    public LoadTestResult andReturn() {
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import de.ferderer.responseentitymatchers.load.LatencyHistogram;
+import de.ferderer.responseentitymatchers.load.LoadTestResult;
+import de.ferderer.responseentitymatchers.matcher.ResponseMatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fluent builder turning a request into a small load generator. Created via {@link RequestBuilder#repeat(int)}.
+ *
+ * <pre class="code">
+ * get("/path").repeat(10_000).concurrency(64).expectEach(status().isOk()).perform()
+ *   .andExpect(load().noErrors())
+ *   .andExpect(latency().p99(lessThan(ofMillis(50))));
+ * </pre>
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class LoadTestBuilder {
+
+    private static final int MAX_ERROR_SAMPLES = 10;
+
+    private final RequestBuilder request;
+    private final int repetitions;
+    private final List<ResponseMatcher> matchers = new ArrayList<>();
+    private int concurrency = 1;
+    private int warmup;
+
+    LoadTestBuilder(RequestBuilder request, int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("Repetitions must be positive: " + repetitions);
+        }
+        this.request = request;
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Set the number of requests in flight at the same time, each sent from its own virtual thread. Default is 1.
+     */
+    public LoadTestBuilder concurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Set the number of requests sent before measuring starts, e.g. to warm up the JIT and the connection pool.
+     */
+    public LoadTestBuilder warmup(int warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    /**
+     * Add an expectation checked on every response. Responses failing it are counted as errors.
+     */
+    public LoadTestBuilder expectEach(ResponseMatcher matcher) {
+        matchers.add(matcher);
+        return this;
+    }
+
+    /**
+     * Perform the load test and return a type that allows asserting expectations on the aggregate result.
+     */
+    public LoadTestActions perform() throws Exception {
+        if (warmup > 0) {
+            run(warmup, new LatencyHistogram(), new LongAdder(), Collections.synchronizedList(new ArrayList<>()));
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        List<Throwable> samples = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        run(repetitions, histogram, errors, samples);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        return new LoadTestActions(new LoadTestResult(histogram, errors.sum(), samples, elapsed));
+    }
+
+    private void run(int total, LatencyHistogram histogram, LongAdder errors, List<Throwable> samples)
+            throws Exception {
+        AtomicInteger remaining = new AtomicInteger(total);
+        List<Callable<Void>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < Math.min(concurrency, total); i++) {
+            workers.add(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long start = System.nanoTime();
+                    try {
+                        ResponseActions actions;
+                        try {
+                            actions = request.perform();
+                        }
+                        finally {
+                            histogram.record(System.nanoTime() - start);
+                        }
+                        try (actions) {
+                            for (ResponseMatcher matcher : matchers) {
+                                actions.andExpect(matcher);
+                            }
+                        }
+                    }
+                    catch (Throwable ex) {
+                        errors.increment();
+                        sample(samples, ex);
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Future<Void> worker : executor.invokeAll(workers)) {
+                worker.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Keep the first few errors as samples. The size check and the addition must be atomic, so both are done
+     * while holding the lock of the synchronized list.
+     */
+    private static void sample(List<Throwable> samples, Throwable error) {
+        synchronized (samples) {
+            if (samples.size() < MAX_ERROR_SAMPLES) {
+                samples.add(error);
+            }
+        }
+    }
+}
@@ -1,33 +1,64 @@
 package de.ferderer.responseentitymatchers.rest;
 
+import de.ferderer.responseentitymatchers.matcher.ResponseContext;
+import de.ferderer.responseentitymatchers.matcher.ResponseTiming;
+import de.ferderer.responseentitymatchers.matcher.StreamingResponseMatcher;
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import de.ferderer.responseentitymatchers.transport.RestTemplateTransport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
- * Fluent request builder.
+ * Fluent request builder. Requests are sent via an {@link HttpTransport}, by default the {@link TestRestTemplate}.
  *
  * @author Vadim Ferderer
  * @since 1.0
  */
 public class RequestBuilder {
 
-    private final TestRestTemplate client;
+    private static final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final HttpTransport transport;
     private final UriComponentsBuilder uriBuilder;
     private final HttpMethod method;
     private final Object[] vars;
     private final MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
     private final HttpHeaders headers = new HttpHeaders();
     private Object content;
+    private MultiValueMap<String, Object> parts;
+    private Class<?> bodyType = String.class;
+    private BodyMode bodyMode = BodyMode.BUFFERED;
 
     public RequestBuilder(TestRestTemplate client, HttpMethod method, String url, Object... vars) {
-        this.client = client;
+        this(new RestTemplateTransport(client), method, url, vars);
+    }
+
+    public RequestBuilder(HttpTransport transport, HttpMethod method, String url, Object... vars) {
+        this.transport = transport;
         this.uriBuilder = UriComponentsBuilder.fromUriString(url);
         this.vars = vars;
         this.method = method;
@@ -40,8 +71,205 @@ public class RequestBuilder {
      * @return response entity encapsulated as a functional action object
      */
     public ResponseActions perform() {
-        var uri = uriBuilder.queryParams(params).buildAndExpand(vars).toUri();
-        return new ResponseActions(client.exchange(uri, method, new HttpEntity<>(content, headers), String.class));
+        return switch (bodyMode) {
+            case BUFFERED -> exchange(bodyType, response ->
+                new ResponseEntity<>(readBody(response), response.getHeaders(), response.getStatusCode()));
+            case DISCARDED -> exchange(bodyType, response -> {
+                StreamUtils.drain(response.getBody());
+                return new ResponseEntity<>(response.getHeaders(), response.getStatusCode());
+            });
+            case LAZY -> performLazy();
+            case FILE -> {
+                ResponseActions actions = exchange(null, response ->
+                    new ResponseEntity<>(BodyFile.write(response), response.getHeaders(), response.getStatusCode()));
+                yield actions.deleteOnClose((Path) actions.andReturn().getBody());
+            }
+        };
+    }
+
+    /**
+     * Perform a request and evaluate the streaming matcher while the response body is read from the connection.
+     * The body is neither decoded nor buffered, so the returned actions carry the status and headers only.
+     *
+     * <pre class="code">
+     * get("/export")
+     *   .perform(jsonStream().count("$.items", is(100_000)))
+     *   .andExpect(status().isOk());
+     * </pre>
+     *
+     * @return response entity without body encapsulated as a functional action object
+     */
+    public ResponseActions perform(StreamingResponseMatcher matcher) {
+        return exchange(null, response -> {
+            var entity = new ResponseEntity<>(response.getHeaders(), response.getStatusCode());
+            matcher.match(entity, response.getBody());
+            return entity;
+        });
+    }
+
+    /**
+     * Execute the exchange and record its timing. The first byte is taken to have arrived when the extractor
+     * is invoked, i.e. after the status and headers have been read.
+     */
+    private ResponseActions exchange(Class<?> responseType, ResponseExtractor<ResponseEntity<?>> extractor) {
+        var request = request();
+        long start = System.nanoTime();
+        long[] firstByte = new long[1];
+        ResponseEntity<?> response = transport.execute(request, responseType, clientResponse -> {
+            firstByte[0] = System.nanoTime();
+            return extractor.extractData(clientResponse);
+        });
+        long end = System.nanoTime();
+        return new ResponseActions(ResponseContext.of(response).request(request),
+            ResponseTiming.of(start, firstByte[0], end));
+    }
+
+    /**
+     * Return as soon as status and headers have been read and leave the body on the connection until it is first
+     * accessed. The timing therefore covers the status and headers only.
+     */
+    private ResponseActions performLazy() {
+        var request = request();
+        long start = System.nanoTime();
+        ClientHttpResponse response = transport.open(request, bodyType);
+        LazyBody body = new LazyBody(response, this::readBody);
+        ResponseContext<?> context;
+        try {
+            context = body.closeWith(new ResponseContext<>(response.getHeaders(), response.getStatusCode(), body))
+                .request(request);
+        }
+        catch (IOException ex) {
+            response.close();
+            throw HttpTransport.ioError(request, ex);
+        }
+        long end = System.nanoTime();
+        return new ResponseActions(context, ResponseTiming.of(start, end, end));
+    }
+
+    private RequestEntity<?> request() {
+        return new RequestEntity<>(parts != null ? parts : content, headers, method, uri());
+    }
+
+    /**
+     * Read the whole body as {@code byte[]} or as String decoded with the charset of the response, UTF-8 by
+     * default. An empty body is represented by {@code null}, as with {@code RestTemplate}.
+     */
+    private Object readBody(ClientHttpResponse response) throws IOException {
+        byte[] bytes = StreamUtils.copyToByteArray(response.getBody());
+        if (bytes.length == 0) {
+            return null;
+        }
+        return bodyType == byte[].class ? bytes : new String(bytes, charset(response.getHeaders()));
+    }
+
+    private static Charset charset(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset()
+            : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Perform the request asynchronously on a virtual thread. Expectations can be chained on the returned future,
+     * so that independent requests are executed concurrently and take about as long as the slowest of them.
+     *
+     * @return future of the response entity encapsulated as a functional action object
+     */
+    public AsyncResponseActions performAsync() {
+        return performAsync(executor);
+    }
+
+    /**
+     * Perform the request asynchronously using the supplied executor.
+     */
+    public AsyncResponseActions performAsync(Executor executor) {
+        return async(this::perform, executor);
+    }
+
+    /**
+     * Perform the request asynchronously on a virtual thread and evaluate
+     * the streaming matcher while the response body is read from the connection.
+     */
+    public AsyncResponseActions performAsync(StreamingResponseMatcher matcher) {
+        return async(() -> perform(matcher), executor);
+    }
+
+    private static AsyncResponseActions async(Supplier<ResponseActions> request, Executor executor) {
+        AsyncResponseActions future = new AsyncResponseActions();
+        executor.execute(() -> {
+            try {
+                future.complete(request.get());
+            }
+            catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Turn this request into a small load generator sending it the given number of times. Latencies are recorded
+     * into a histogram, so that the aggregate result can be checked with {@code latency()} and {@code load()}
+     * matchers.
+     *
+     * <pre class="code">
+     * get("/path").repeat(10_000).concurrency(64).perform()
+     *   .andExpect(latency().p99(lessThan(ofMillis(50))));
+     * </pre>
+     */
+    public LoadTestBuilder repeat(int repetitions) {
+        return new LoadTestBuilder(this, repetitions);
+    }
+
+    private URI uri() {
+        return uriBuilder.cloneBuilder().queryParams(params).buildAndExpand(vars).toUri();
+    }
+
+    /**
+     * Keep the response body as raw {@code byte[]} instead of decoding it to a String. Saves the decoding
+     * and about half of the heap for large bodies, and leaves binary content intact. All content and JSON
+     * path matchers work on byte array bodies as well.
+     */
+    public RequestBuilder bodyAsBytes() {
+        this.bodyType = byte[].class;
+        return this;
+    }
+
+    /**
+     * Read the response body only when a matcher or handler first accesses it, e.g. {@code content()} or
+     * {@code jsonPath()}. Status and header checks then return without downloading the body.
+     *
+     * Until the body is read, the response holds on to its connection. A body that is never accessed is closed when
+     * the response is garbage collected, so prefer {@link #discardBody()} when sending many requests in a row whose
+     * bodies are not needed, e.g. in a loop, to avoid exhausting the connection pool.
+     */
+    public RequestBuilder lazyBody() {
+        this.bodyMode = BodyMode.LAZY;
+        return this;
+    }
+
+    /**
+     * Skip the response body without buffering or decoding it, for checks of status and headers only. The body is
+     * still read from the connection, so that the connection can be reused. The returned entity has no body.
+     */
+    public RequestBuilder discardBody() {
+        this.bodyMode = BodyMode.DISCARDED;
+        return this;
+    }
+
+    /**
+     * Stream the response body to a temporary file instead of the heap, for downloads too large to be buffered.
+     * The body of the returned entity is the {@link Path} of the file, see {@link ResponseActions#andReturnFile()};
+     * check it with {@code file()} matchers, which read it through memory-mapped buffers.
+     *
+     * The file is deleted when the returned {@link ResponseActions} are closed, or at the latest once the response
+     * becomes unreachable, so close them, e.g. with try-with-resources, to free the disk space right away. After
+     * {@link ResponseActions#andReturnFile()} the file is only deleted by closing them. Load tests via
+     * {@link #repeat(int)} delete each file after its expectations.
+     */
+    public RequestBuilder bodyToFile() {
+        this.bodyMode = BodyMode.FILE;
+        return this;
     }
 
     /**
@@ -52,6 +280,61 @@ public class RequestBuilder {
         return this;
     }
 
+    /**
+     * Set the request body to the content of the given file. The file is streamed from disk while the request is
+     * sent, with its size as {@code Content-Length}, instead of being loaded into memory. The content type
+     * defaults to the one derived from the file name.
+     */
+    public RequestBuilder withContent(Path file) {
+        return withContent(new FileSystemResource(file));
+    }
+
+    /**
+     * Set the request body to the content of the given stream, which is copied to the connection while the request
+     * is sent and closed afterwards. With a negative length the body is sent with chunked transfer encoding.
+     * The content type defaults to {@code application/octet-stream}.
+     *
+     * A stream can be read once only, so the request cannot be repeated, e.g. via {@link #repeat(int)}.
+     */
+    public RequestBuilder withContent(InputStream content, long length) {
+        return withContent(new InputStreamResource(content) {
+            @Override
+            public long contentLength() {
+                return length;
+            }
+        });
+    }
+
+    /**
+     * Add a part to a {@code multipart/form-data} request body, which then replaces the content set via
+     * {@link #withContent(Object)}. {@link Path} parts are sent as file uploads streamed from disk; other parts are
+     * converted like request bodies, e.g. String or JSON. Multipart bodies are sent with chunked transfer encoding.
+     *
+     * <pre class="code">
+     * post("/documents")
+     *   .withPart("file", Path.of("build/report.pdf"))
+     *   .withPart("metadata", new Metadata("Annual report"), MediaType.APPLICATION_JSON)
+     *   .perform();
+     * </pre>
+     */
+    public RequestBuilder withPart(String name, Object part) {
+        return withPart(name, part, null);
+    }
+
+    /**
+     * Add a part with the given content type to a {@code multipart/form-data} request body, see
+     * {@link #withPart(String, Object)}.
+     */
+    public RequestBuilder withPart(String name, Object part, @Nullable MediaType contentType) {
+        if (parts == null) {
+            parts = new LinkedMultiValueMap<>();
+        }
+        HttpHeaders partHeaders = new HttpHeaders();
+        partHeaders.setContentType(contentType);
+        parts.add(name, new HttpEntity<>(part instanceof Path file ? new FileSystemResource(file) : part, partHeaders));
+        return this;
+    }
+
     /**
      * Set the authentication bearer header.
      */
@@ -114,4 +397,8 @@ public class RequestBuilder {
         headers.set(HttpHeaders.ACCEPT, String.join(", ", mediaTypes));
         return this;
     }
+
+    private enum BodyMode {
+        BUFFERED, DISCARDED, LAZY, FILE
+    }
 }
@@ -1,15 +1,31 @@
 package de.ferderer.responseentitymatchers.rest;
 
 import de.ferderer.responseentitymatchers.handler.ResponseHandler;
+import de.ferderer.responseentitymatchers.matcher.ResponseContext;
 import de.ferderer.responseentitymatchers.matcher.ResponseMatcher;
+import de.ferderer.responseentitymatchers.matcher.ResponseTiming;
+import java.nio.file.Path;
 import org.springframework.http.ResponseEntity;
 
-public class ResponseActions {
+public class ResponseActions implements AutoCloseable {
 
-    private final ResponseEntity<?> response;
+    private final ResponseContext<?> response;
+    private BodyFile bodyFile;
 
+    /**
+     * Wraps the response entity into a {@link ResponseContext}, so that all matchers applied
+     * to this response share derived representations of the body, e.g. the parsed JSON document.
+     */
     public ResponseActions(ResponseEntity<?> response) {
-        this.response = response;
+        this.response = ResponseContext.of(response);
+    }
+
+    /**
+     * Wraps the response entity into a {@link ResponseContext} and records the timing of the exchange,
+     * so that it can be asserted via {@code timing()} matchers.
+     */
+    public ResponseActions(ResponseEntity<?> response, ResponseTiming timing) {
+        this.response = ResponseContext.of(response).timing(timing);
     }
 
     /**
@@ -20,6 +36,28 @@ public class ResponseActions {
         return this;
     }
 
+    /**
+     * Performs all assertions on the response entity and reports every failure together instead of stopping at
+     * the first one. The matchers share the decoded and parsed body, so it is extracted only once.
+     *
+     * <pre class="code">
+     * perform(get("/person/1"))
+     *   .andExpectAll(
+     *     status().isOk(),
+     *     jsonPath("$.firstname").value("John"),
+     *     jsonPath("$.lastname").value("Doe"));
+     * </pre>
+     */
+    public ResponseActions andExpectAll(ResponseMatcher... matchers) {
+        FailureCollector failures = new FailureCollector();
+        for (int i = 0; i < matchers.length; i++) {
+            ResponseMatcher matcher = matchers[i];
+            failures.check("Expectation #" + (i + 1), () -> matcher.match(response));
+        }
+        failures.verify(matchers.length + " expectations");
+        return this;
+    }
+
     /**
      * Executes an action on the response entity.
      */
@@ -34,4 +72,41 @@ public class ResponseActions {
     public ResponseEntity<?> andReturn() {
         return response;
     }
+
+    /**
+     * Returns the file the response body was written to, see {@link RequestBuilder#bodyToFile()}. The file is
+     * handed over to the caller: it is no longer deleted once the response becomes unreachable, but only when these
+     * actions are closed. Delete or move it when done, or keep and close the actions.
+     *
+     * @throws IllegalStateException if the body was not written to a file
+     */
+    public Path andReturnFile() {
+        if (response.getBody() instanceof Path file) {
+            if (bodyFile != null) {
+                bodyFile.detach();
+            }
+            return file;
+        }
+        throw new IllegalStateException("Response body was not written to a file, use bodyToFile() on the request");
+    }
+
+    /**
+     * Deletes the file the response body was written to, if any, see {@link RequestBuilder#bodyToFile()}. Other
+     * responses hold no resources, closing them has no effect.
+     */
+    @Override
+    public void close() {
+        if (bodyFile != null) {
+            bodyFile.delete();
+        }
+    }
+
+    /**
+     * Delete the body file once these actions are closed or, unless it is returned by {@link #andReturnFile()}, the
+     * response becomes unreachable.
+     */
+    ResponseActions deleteOnClose(Path file) {
+        this.bodyFile = BodyFile.deleteWith(response, file);
+        return this;
+    }
 }
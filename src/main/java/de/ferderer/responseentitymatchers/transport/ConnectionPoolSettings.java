@@ -0,0 +1,33 @@
+package de.ferderer.responseentitymatchers.transport;
+
+import java.time.Duration;
+
+/**
+ * Settings of the connection pool of a {@link PooledHttpTransport}, configured via the {@code testing.http.*}
+ * properties of {@link de.ferderer.responseentitymatchers.WebTestBase}.
+ *
+ * @param maxConnections maximum number of open connections in total
+ * @param maxConnectionsPerRoute maximum number of open connections to a single host
+ * @param keepAlive how long an idle connection is kept open unless the server sends a shorter 'Keep-Alive' timeout
+ * @param validateAfterInactivity idle period after which a connection is checked for staleness before reuse
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public record ConnectionPoolSettings(int maxConnections, int maxConnectionsPerRoute, Duration keepAlive,
+                                     Duration validateAfterInactivity) {
+
+    public ConnectionPoolSettings {
+        if (maxConnections < 1 || maxConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("Connection limits must be positive: " + maxConnections + ", "
+                + maxConnectionsPerRoute);
+        }
+    }
+
+    /**
+     * Settings suited for tests against an embedded server: up to 64 connections, kept alive for 30 seconds.
+     */
+    public static ConnectionPoolSettings defaults() {
+        return new ConnectionPoolSettings(64, 64, Duration.ofSeconds(30), Duration.ofSeconds(2));
+    }
+}
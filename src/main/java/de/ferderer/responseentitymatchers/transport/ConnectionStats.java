@@ -0,0 +1,35 @@
+package de.ferderer.responseentitymatchers.transport;
+
+/**
+ * Snapshot of the connection usage of a {@link PooledHttpTransport}.
+ *
+ * @param requests number of requests sent
+ * @param connectionsOpened number of connections opened, each costing a TCP (and possibly TLS) handshake
+ * @param leased number of connections currently in use
+ * @param available number of idle connections kept alive in the pool
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public record ConnectionStats(long requests, long connectionsOpened, int leased, int available) {
+
+    /**
+     * Number of requests sent over a connection that was already open.
+     */
+    public long connectionsReused() {
+        return Math.max(0, requests - connectionsOpened);
+    }
+
+    /**
+     * Share of requests sent over a connection that was already open, between 0 and 1.
+     */
+    public double reuseRatio() {
+        return requests == 0 ? 0 : (double) connectionsReused() / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, %d connections opened, %d reused (%.1f%%), %d leased, %d available",
+            requests, connectionsOpened, connectionsReused(), reuseRatio() * 100, leased, available);
+    }
+}
@@ -0,0 +1,55 @@
+package de.ferderer.responseentitymatchers.transport;
+
+import java.io.IOException;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+
+/**
+ * Sends the requests built by {@link de.ferderer.responseentitymatchers.rest.RequestBuilder} over the wire. The
+ * transport writes the request entity, converting its body with the usual message converters, and hands the raw
+ * response to the extractor. The response is closed once the extractor returns.
+ *
+ * <p>Implementations must be thread-safe, as requests may be performed concurrently.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public interface HttpTransport {
+
+    /**
+     * Execute the request and extract the result from the response.
+     *
+     * @param request the request to send, with an absolute URL
+     * @param responseType the expected body type used to derive the 'Accept' header if not set, or {@code null}
+     * @param extractor reads status, headers and body of the response
+     * @return the value returned by the extractor
+     */
+    default <T> T execute(RequestEntity<?> request, Class<?> responseType, ResponseExtractor<T> extractor) {
+        try (ClientHttpResponse response = open(request, responseType)) {
+            return extractor.extractData(response);
+        }
+        catch (IOException ex) {
+            throw ioError(request, ex);
+        }
+    }
+
+    /**
+     * Execute the request and return the response as soon as status and headers are available. The body is left
+     * unread, the caller must close the response.
+     *
+     * @param request the request to send, with an absolute URL
+     * @param responseType the expected body type used to derive the 'Accept' header if not set, or {@code null}
+     * @return the open response
+     */
+    ClientHttpResponse open(RequestEntity<?> request, Class<?> responseType);
+
+    /**
+     * Wrap an I/O error the same way as {@code RestTemplate} does.
+     */
+    static ResourceAccessException ioError(RequestEntity<?> request, IOException ex) {
+        return new ResourceAccessException("I/O error on " + request.getMethod() + " request for \""
+            + request.getUrl() + "\": " + ex.getMessage(), ex);
+    }
+}
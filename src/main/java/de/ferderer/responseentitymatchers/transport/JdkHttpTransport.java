@@ -0,0 +1,42 @@
+package de.ferderer.responseentitymatchers.transport;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+
+/**
+ * Transport executing requests with the JDK {@link HttpClient}, which supports HTTP/2 and keeps connections alive
+ * across requests. Request bodies are converted with the same message converters as the {@link TestRestTemplate},
+ * error statuses are passed to the matchers as is.
+ *
+ * <p>Unless a client is supplied, all transports share one default client, so that its connection pool and
+ * selector thread are reused across test classes.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class JdkHttpTransport extends RestTemplateTransport {
+
+    public JdkHttpTransport(TestRestTemplate client) {
+        this(client.getRestTemplate().getMessageConverters());
+    }
+
+    public JdkHttpTransport(List<HttpMessageConverter<?>> messageConverters) {
+        this(DefaultClient.instance, messageConverters);
+    }
+
+    public JdkHttpTransport(HttpClient httpClient, List<HttpMessageConverter<?>> messageConverters) {
+        super(createTemplate(new JdkClientHttpRequestFactory(httpClient), messageConverters));
+    }
+
+    /**
+     * Lazily created client shared by all transports without an explicit client.
+     */
+    private static class DefaultClient {
+        static final HttpClient instance = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package de.ferderer.responseentitymatchers.transport;
+
+import jakarta.servlet.Filter;
+import java.util.List;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.test.web.client.MockMvcClientHttpRequestFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * In-process transport dispatching requests to the {@code DispatcherServlet} of the application context via
+ * {@link MockMvc}, without opening a socket. The matchers still receive a regular {@code ResponseEntity}, so the
+ * same tests can run in this mode or over real HTTP.
+ *
+ * <p>No servlet container is involved: error pages are not rendered and filters registered through a
+ * {@code FilterRegistrationBean} are not applied. Filters declared as beans are. The mock response is written
+ * byte by byte, so bodies in the megabyte range are faster over a real connection. Request bodies are buffered
+ * as well, and multipart request bodies are not split into parts, since the mock request does not parse them.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class MockMvcTransport extends RestTemplateTransport {
+
+    public MockMvcTransport(WebApplicationContext context, List<HttpMessageConverter<?>> messageConverters) {
+        this(MockMvcBuilders.webAppContextSetup(context)
+            .addFilters(context.getBeanProvider(Filter.class).orderedStream().toArray(Filter[]::new))
+            .build(), messageConverters);
+    }
+
+    public MockMvcTransport(MockMvc mockMvc, List<HttpMessageConverter<?>> messageConverters) {
+        super(createTemplate(new MockMvcClientHttpRequestFactory(mockMvc), messageConverters));
+    }
+}
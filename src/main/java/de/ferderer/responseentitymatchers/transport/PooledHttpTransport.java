@@ -0,0 +1,134 @@
+package de.ferderer.responseentitymatchers.transport;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.SSLSocket;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.ResponseExtractor;
+
+/**
+ * Transport executing requests with Apache HttpClient 5 over a pool of keep-alive connections, whose limits are
+ * set via {@link ConnectionPoolSettings}. Requires {@code org.apache.httpcomponents.client5:httpclient5} on the
+ * classpath. Counts requests and opened connections, see {@link #connectionStats()}.
+ *
+ * <pre class="code">
+ * ConnectionStats stats = ((PooledHttpTransport) transport()).connectionStats();
+ * assertThat(stats.reuseRatio(), greaterThan(0.9));
+ * </pre>
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class PooledHttpTransport extends RestTemplateTransport implements AutoCloseable {
+
+    private final Pool pool;
+    private final LongAdder requests = new LongAdder();
+
+    public PooledHttpTransport(TestRestTemplate client, ConnectionPoolSettings settings) {
+        this(client.getRestTemplate().getMessageConverters(), new Pool(settings));
+    }
+
+    private PooledHttpTransport(List<HttpMessageConverter<?>> messageConverters, Pool pool) {
+        super(createTemplate(new HttpComponentsClientHttpRequestFactory(pool.httpClient), messageConverters));
+        this.pool = pool;
+    }
+
+    @Override
+    public <T> T execute(RequestEntity<?> request, Class<?> responseType, ResponseExtractor<T> extractor) {
+        requests.increment();
+        return super.execute(request, responseType, extractor);
+    }
+
+    @Override
+    public ClientHttpResponse open(RequestEntity<?> request, Class<?> responseType) {
+        requests.increment();
+        return super.open(request, responseType);
+    }
+
+    /**
+     * Return the number of requests and opened connections so far, along with the current state of the pool.
+     */
+    public ConnectionStats connectionStats() {
+        PoolStats stats = pool.connectionManager.getTotalStats();
+        return new ConnectionStats(requests.sum(), pool.connectionsOpened.sum(), stats.getLeased(),
+            stats.getAvailable());
+    }
+
+    /**
+     * Close all pooled connections.
+     */
+    @Override
+    public void close() throws IOException {
+        pool.httpClient.close();
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The client along with its connection manager.
+     */
+    private static class Pool {
+        final LongAdder connectionsOpened = new LongAdder();
+        final PoolingHttpClientConnectionManager connectionManager;
+        final CloseableHttpClient httpClient;
+
+        Pool(ConnectionPoolSettings settings) {
+            connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setValidateAfterInactivity(timeValue(settings.validateAfterInactivity()))
+                    .build())
+                .setConnectionFactory(new CountingConnectionFactory(connectionsOpened))
+                .build();
+            httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                    .setConnectionKeepAlive(timeValue(settings.keepAlive()))
+                    .build())
+                .disableRedirectHandling()
+                .disableCookieManagement()
+                .build();
+        }
+    }
+
+    /**
+     * Counts the connections opened by the pool.
+     */
+    private record CountingConnectionFactory(LongAdder counter)
+            implements HttpConnectionFactory<ManagedHttpClientConnection> {
+
+        @Override
+        public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+            counter.increment();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+        }
+
+        @Override
+        public ManagedHttpClientConnection createConnection(SSLSocket sslSocket, Socket socket) throws IOException {
+            counter.increment();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(sslSocket, socket);
+        }
+    }
+}
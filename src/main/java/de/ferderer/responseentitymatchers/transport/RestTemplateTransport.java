@@ -0,0 +1,79 @@
+package de.ferderer.responseentitymatchers.transport;
+
+import java.io.IOException;
+import java.util.List;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Transport executing requests with a {@link RestTemplate}, by default the one backing the {@link TestRestTemplate}
+ * of the application context. This is the default transport.
+ *
+ * @author Vadim Ferderer
+ * @since 1.2
+ */
+public class RestTemplateTransport implements HttpTransport {
+
+    private static final ResponseErrorHandler noErrorHandler = new ResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+    };
+
+    private final RestTemplate template;
+
+    public RestTemplateTransport(TestRestTemplate client) {
+        this(client.getRestTemplate());
+    }
+
+    public RestTemplateTransport(RestTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public <T> T execute(RequestEntity<?> request, Class<?> responseType, ResponseExtractor<T> extractor) {
+        var callback = template.httpEntityCallback(request, responseType);
+        return template.execute(request.getUrl(), request.getMethod(), callback, extractor);
+    }
+
+    @Override
+    public ClientHttpResponse open(RequestEntity<?> request, Class<?> responseType) {
+        try {
+            ClientHttpRequest clientRequest = template.getRequestFactory()
+                .createRequest(request.getUrl(), request.getMethod());
+            template.getClientHttpRequestInitializers().forEach(initializer -> initializer.initialize(clientRequest));
+            template.httpEntityCallback(request, responseType).doWithRequest(clientRequest);
+            return clientRequest.execute();
+        }
+        catch (IOException ex) {
+            throw HttpTransport.ioError(request, ex);
+        }
+    }
+
+    /**
+     * Access to the underlying template.
+     */
+    public RestTemplate getRestTemplate() {
+        return template;
+    }
+
+    /**
+     * Create a template sending requests with the supplied factory. Like the {@link TestRestTemplate}, it passes
+     * error statuses to the caller instead of throwing.
+     */
+    protected static RestTemplate createTemplate(ClientHttpRequestFactory requestFactory,
+                                                 List<HttpMessageConverter<?>> messageConverters) {
+        RestTemplate template = new RestTemplate(requestFactory);
+        template.setMessageConverters(messageConverters);
+        template.setErrorHandler(noErrorHandler);
+        return template;
+    }
+}
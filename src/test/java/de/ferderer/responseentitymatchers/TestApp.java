@@ -1,7 +1,16 @@
 package de.ferderer.responseentitymatchers;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -9,7 +18,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 @SpringBootApplication
 @RestController
@@ -21,11 +32,45 @@ public class TestApp {
 
     public static record Person(String username, String firstname, String lastname) {}
 
+    public static record Upload(String contentType, String transferEncoding, long size, long crc32) {}
+
     @GetMapping("/test/ok")
     public Person testGetMethod() {
         return new Person("John Doe", "John", "Doe");
     }
 
+    @GetMapping(path = "/test/xml", produces = MediaType.APPLICATION_XML_VALUE)
+    public String testGetXml() {
+        return "<person><username>John Doe</username><firstname>John</firstname><lastname>Doe</lastname></person>";
+    }
+
+    @GetMapping(path = "/test/download", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public byte[] testDownload(@RequestParam(name = "size", defaultValue = "1024") int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        return content;
+    }
+
+    @PostMapping("/test/upload")
+    public Upload testUpload(HttpServletRequest request) throws IOException {
+        CRC32 crc = new CRC32();
+        long size;
+        try (InputStream in = new CheckedInputStream(request.getInputStream(), crc)) {
+            size = in.transferTo(OutputStream.nullOutputStream());
+        }
+        return new Upload(request.getContentType(), request.getHeader(HttpHeaders.TRANSFER_ENCODING), size,
+            crc.getValue());
+    }
+
+    @PostMapping(path = "/test/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Map<String, Object> testMultipartUpload(@RequestParam("file") MultipartFile file,
+            @RequestParam("description") String description, HttpServletRequest request) {
+        return Map.of("filename", file.getOriginalFilename(), "size", file.getSize(), "description", description,
+            "transferEncoding", request.getHeader(HttpHeaders.TRANSFER_ENCODING));
+    }
+
     @PostMapping("/test/ok")
     public Person testPostMethod(@RequestBody Person person) {
         return person;
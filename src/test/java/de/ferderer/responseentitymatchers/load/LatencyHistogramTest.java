@@ -0,0 +1,64 @@
+package de.ferderer.responseentitymatchers.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogram() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(Duration.ZERO, histogram.percentile(99));
+        assertEquals(Duration.ZERO, histogram.min());
+        assertEquals(Duration.ZERO, histogram.mean());
+    }
+
+    @Test
+    public void smallValuesAreExact() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(Duration.ofNanos(50), histogram.percentile(50));
+        assertEquals(Duration.ofNanos(99), histogram.percentile(99));
+        assertEquals(Duration.ofNanos(100), histogram.percentile(100));
+        assertEquals(Duration.ofNanos(1), histogram.min());
+        assertEquals(Duration.ofNanos(100), histogram.max());
+        assertEquals(Duration.ofNanos(50), histogram.mean());
+    }
+
+    @Test
+    public void largeValuesWithinRelativeError() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(Duration.ofMillis(i));
+        }
+        assertWithinError(Duration.ofMillis(500), histogram.percentile(50));
+        assertWithinError(Duration.ofMillis(990), histogram.percentile(99));
+        assertWithinError(Duration.ofMillis(999), histogram.percentile(99.9));
+        assertEquals(Duration.ofMillis(1000), histogram.percentile(100));
+    }
+
+    @Test
+    public void bucketBoundsAreConsistent() throws Exception {
+        for (long value : new long[] {0, 1, 1023, 1024, 1025, 2047, 2048, 4095, 1_000_000, 123_456_789_012L}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.upperBound(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < value);
+        }
+    }
+
+    @Test
+    public void invalidPercentile() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().percentile(101));
+    }
+
+    private static void assertWithinError(Duration expected, Duration actual) {
+        long error = Math.abs(actual.toNanos() - expected.toNanos());
+        assertTrue(error <= expected.toNanos() / 500, "Expected " + expected + " but was " + actual);
+    }
+}
@@ -2,11 +2,21 @@ package de.ferderer.responseentitymatchers.matcher;
 
 import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.transform.Source;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 public class ContentMatchersTest {
@@ -31,6 +41,9 @@ public class ContentMatchersTest {
     private static final ResponseEntity<?> RE_RXML = build(RXML, MediaType.APPLICATION_XML);
     private static final ResponseEntity<?> RE_BXML = build(BXML, MediaType.APPLICATION_XML);
 
+    private static final ResponseEntity<?> RE_BYTES_AJSON = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON).body(AJSON.getBytes(StandardCharsets.UTF_8));
+
     private static ResponseEntity<?> build(String body, MediaType contentType) {
         return ResponseEntity.ok().contentType(contentType).body(body);
     }
@@ -134,4 +147,177 @@ public class ContentMatchersTest {
     public void nodeMatcherShouldSucceed() throws Exception {
         content().node(Matchers.notNullValue(Node.class)).match(RE_AXML);
     }
+
+    @Test
+    public void sourceMatcherShouldSucceed() throws Exception {
+        content().source(Matchers.notNullValue(Source.class)).match(RE_AXML);
+    }
+
+    @Test
+    public void xmlContentMatcherShouldAcceptBytes() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><person><name>J\u00fcrgen</name></person>";
+        ResponseEntity<?> response = ResponseEntity.ok().contentType(MediaType.APPLICATION_XML)
+            .body(xml.getBytes(StandardCharsets.ISO_8859_1));
+        content().xml("<person><name>J\u00fcrgen</name></person>").match(response);
+    }
+
+    @Test
+    public void responseContextParsesXmlOnce() throws Exception {
+        AtomicInteger parsed = new AtomicInteger();
+        ResponseContext<?> context = new ResponseContext<>(ResponseEntity.ok().body(AXML)) {
+            @Override
+            Document parseXml() throws Exception {
+                parsed.incrementAndGet();
+                return super.parseXml();
+            }
+        };
+
+        content().xml(RXML).match(context);
+        content().node(Matchers.notNullValue(Node.class)).match(context);
+        content().source(Matchers.notNullValue(Source.class)).match(context);
+        assertThrows(AssertionError.class, () -> content().xml(BXML).match(context));
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void responseContextReadsLazyBodyOnFirstAccess() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        ResponseEntity<?> response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).build();
+        ResponseContext<?> context = new ResponseContext<>(response.getHeaders(), response.getStatusCode(), () -> {
+            read.incrementAndGet();
+            return RJSON;
+        });
+
+        status().isOk().match(context);
+        content().contentType(MediaType.APPLICATION_JSON).match(context);
+        assertEquals(0, read.get());
+
+        content().json(RJSON).match(context);
+        content().string(RJSON).match(context);
+        assertEquals(RJSON, context.getBody());
+        assertEquals(1, read.get());
+    }
+
+    @Test
+    public void expectedJsonIsParsedOnce() throws Exception {
+        JsonComparator.expectedDocuments.clear();
+        ResponseMatcher matcher = content().json(RJSON);
+        for (int i = 0; i < 5; i++) {
+            matcher.match(RE_AJSON);
+            content().json(RJSON, true).match(RE_RJSON);
+        }
+        assertEquals(1, JsonComparator.expectedDocuments.missCount());
+        assertEquals(5, JsonComparator.expectedDocuments.hitCount());
+    }
+
+    @Test
+    public void expectedXmlIsParsedOnce() throws Exception {
+        XmlExpectations.expectedDocuments.clear();
+        ResponseMatcher matcher = content().xml(RXML);
+        for (int i = 0; i < 5; i++) {
+            matcher.match(RE_AXML);
+            assertThrows(AssertionError.class, () -> content().xml(RXML).match(RE_BXML));
+        }
+        assertEquals(1, XmlExpectations.expectedDocuments.missCount());
+        assertEquals(5, XmlExpectations.expectedDocuments.hitCount());
+        assertEquals(1, XmlExpectations.expected(RXML).copies());
+    }
+
+    @Test
+    public void matcherKeepsExpectedDocumentBeyondCache() throws Exception {
+        XmlExpectations.expectedDocuments.clear();
+        JsonComparator.expectedDocuments.clear();
+        ResponseMatcher xml = content().xml(RXML);
+        ResponseMatcher json = content().json(RJSON);
+        for (int i = 0; i < 20; i++) {
+            content().xml("<golden>" + i + "</golden>");
+            content().json("{\"golden\": " + i + "}");
+        }
+        long xmlMisses = XmlExpectations.expectedDocuments.missCount();
+        long jsonMisses = JsonComparator.expectedDocuments.missCount();
+
+        xml.match(RE_AXML);
+        json.match(RE_AJSON);
+        assertEquals(xmlMisses, XmlExpectations.expectedDocuments.missCount());
+        assertEquals(jsonMisses, JsonComparator.expectedDocuments.missCount());
+    }
+
+    @Test
+    public void concurrentXmlComparisonsUseOwnCopies() throws Exception {
+        ResponseMatcher matcher = content().xml(RXML);
+        var comparisons = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < 8; i++) {
+            comparisons.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 5; j++) {
+                    try {
+                        matcher.match(RE_AXML);
+                    }
+                    catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(comparisons.toArray(CompletableFuture[]::new)).get();
+    }
+
+    @Test
+    public void invalidExpectedXmlShouldFail() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> content().xml("<person>").match(RE_AXML));
+    }
+
+    @Test
+    public void stringContentMatcherShouldDecodeBytes() throws Exception {
+        content().string(AJSON).match(RE_BYTES_AJSON);
+    }
+
+    @Test
+    public void bytesContentMatcherShouldSucceed() throws Exception {
+        content().bytes(AJSON.getBytes(StandardCharsets.UTF_8)).match(RE_BYTES_AJSON);
+        content().bytes(AJSON.getBytes(StandardCharsets.UTF_8)).match(RE_AJSON);
+    }
+
+    @Test
+    public void bytesContentMatcherShouldFail() throws Exception {
+        assertThrows(AssertionError.class, () -> content().bytes(BJSON.getBytes(StandardCharsets.UTF_8)).match(RE_BYTES_AJSON));
+    }
+
+    @Test
+    public void digestMatchersShouldSucceed() throws Exception {
+        content().sha256("1A5E3CBFA3E9D58E215CC885009DD30FF8B303285447A1599AB420B6561E6124").match(RE_ATEXT);
+        content().crc32(0x098E760EL).match(RE_ATEXT);
+        content().size(44).match(RE_ATEXT);
+        content().size(0).match(ResponseEntity.noContent().build());
+    }
+
+    @Test
+    public void digestMatchersShouldFail() throws Exception {
+        assertThrows(AssertionError.class, () -> content().sha256("00").match(RE_ATEXT));
+        assertThrows(AssertionError.class, () -> content().crc32(0).match(RE_ATEXT));
+        assertThrows(AssertionError.class, () -> content().size(Matchers.greaterThan(44L)).match(RE_ATEXT));
+    }
+
+    @Test
+    public void digestMatchersShouldReadStream() throws Exception {
+        byte[] body = new byte[100_000];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        var entity = ResponseEntity.ok().body(body);
+        var digest = content().sha256(sha256Hex(body));
+
+        digest.match(entity);
+        digest.match(entity, new ByteArrayInputStream(body));
+        content().size(body.length).match(entity, new ByteArrayInputStream(body));
+        assertThrows(AssertionError.class, () -> digest.match(entity, new ByteArrayInputStream(body, 1, 1000)));
+    }
+
+    private static String sha256Hex(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    @Test
+    public void jsonContentMatcherShouldAcceptBytes() throws Exception {
+        content().json(RJSON).match(RE_BYTES_AJSON);
+    }
 }
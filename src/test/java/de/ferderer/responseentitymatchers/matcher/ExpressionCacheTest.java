@@ -0,0 +1,48 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ExpressionCache<String, String> cache = new ExpressionCache<>(2);
+        cache.get("a", String::toUpperCase);
+        cache.get("b", String::toUpperCase);
+        cache.get("a", String::toUpperCase);
+        cache.get("c", String::toUpperCase);
+        cache.get("a", String::toUpperCase);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.missCount());
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    public void compilationDoesNotBlockOtherKeys() throws Exception {
+        ExpressionCache<String, String> cache = new ExpressionCache<>(16);
+        CountDownLatch compiling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        var slow = CompletableFuture.supplyAsync(() -> cache.get("slow", key -> {
+            compiling.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return key.toUpperCase();
+        }));
+
+        assertTrue(compiling.await(5, TimeUnit.SECONDS));
+        var fast = CompletableFuture.supplyAsync(() -> cache.get("fast", String::toUpperCase));
+        assertEquals("FAST", fast.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("SLOW", slow.get(5, TimeUnit.SECONDS));
+    }
+}
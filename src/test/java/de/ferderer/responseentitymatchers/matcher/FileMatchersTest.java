@@ -0,0 +1,95 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+public class FileMatchersTest {
+    private static final String TEXT = "Aliquam venenatis urna eu ultrices convallis";
+
+    private static ResponseEntity<?> re(Path file) {
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(file);
+    }
+
+    private static Path textFile() throws Exception {
+        Path file = Files.createTempFile("response-", ".body");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, TEXT);
+    }
+
+    @Test
+    public void size() throws Exception {
+        var response = re(textFile());
+        file().size(44).match(response);
+        file().size(lessThan(100L)).match(response);
+        assertThrows(AssertionError.class, () -> file().size(45).match(response));
+    }
+
+    @Test
+    public void digests() throws Exception {
+        var response = re(textFile());
+        file().sha256("1A5E3CBFA3E9D58E215CC885009DD30FF8B303285447A1599AB420B6561E6124").match(response);
+        file().crc32(0x098E760EL).match(response);
+        content().sha256("1a5e3cbfa3e9d58e215cc885009dd30ff8b303285447a1599ab420b6561e6124").match(response);
+        assertThrows(AssertionError.class, () -> file().sha256("00").match(response));
+        assertThrows(AssertionError.class, () -> file().crc32(0).match(response));
+    }
+
+    @Test
+    public void bytes() throws Exception {
+        var response = re(textFile());
+        file().bytes(0, "Aliquam".getBytes(StandardCharsets.US_ASCII)).match(response);
+        file().bytes(35, "convallis".getBytes(StandardCharsets.US_ASCII)).match(response);
+        assertThrows(AssertionError.class,
+            () -> file().bytes(1, "Aliquam".getBytes(StandardCharsets.US_ASCII)).match(response));
+        assertThrows(AssertionError.class,
+            () -> file().bytes(40, "convallis".getBytes(StandardCharsets.US_ASCII)).match(response));
+    }
+
+    @Test
+    public void largeFileIsReadInChunks() throws Exception {
+        Path file = Files.createTempFile("response-", ".body");
+        try {
+            long size = (130L << 20) + 7;
+            long marker = (64L << 20) - 2;
+            try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+                out.setLength(size);
+                out.seek(marker);
+                out.write(new byte[] {1, 2, 3, 4});
+            }
+            CRC32 crc = new CRC32();
+            try (var in = new CheckedInputStream(Files.newInputStream(file), crc)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            var response = re(file);
+            file().size(size).match(response);
+            file().bytes(marker - 1, new byte[] {0, 1, 2, 3, 4, 0}).match(response);
+            file().crc32(crc.getValue()).match(response);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void bodyNotWrittenToFile() throws Exception {
+        assertThrows(AssertionError.class, () -> file().size(4).match(ResponseEntity.ok().body("test")));
+    }
+
+    @Test
+    public void contentMatchersReadFile() throws Exception {
+        var response = re(textFile());
+        content().string(TEXT).match(response);
+        content().string(containsString("venenatis")).match(response);
+    }
+}
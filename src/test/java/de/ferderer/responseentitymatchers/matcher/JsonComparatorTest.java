@@ -0,0 +1,159 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class JsonComparatorTest {
+
+    private static boolean strict(String expected, String actual) {
+        return JsonComparator.STRICT.matches(JsonComparator.parse(expected), JsonComparator.parse(actual));
+    }
+
+    private static boolean lenient(String expected, String actual) {
+        return JsonComparator.LENIENT.matches(JsonComparator.parse(expected), JsonComparator.parse(actual));
+    }
+
+    private static String failure(JsonComparator comparator, String expected, String actual) {
+        return assertThrows(AssertionError.class, () -> comparator.assertEquals(
+            JsonComparator.parse(expected), JsonComparator.parse(actual))).getMessage();
+    }
+
+    @Test
+    public void scalars() throws Exception {
+        assertTrue(strict("\"a\"", "\"a\""));
+        assertTrue(strict("1", "1.0"));
+        assertTrue(strict("{\"a\": null}", "{\"a\": null}"));
+        assertFalse(strict("{\"a\": null}", "{\"a\": 0}"));
+        assertFalse(strict("{\"a\": \"1\"}", "{\"a\": 1}"));
+        assertFalse(strict("{\"a\": true}", "{\"a\": \"true\"}"));
+        assertTrue(strict("{\"a\": 12345678901234}", "{\"a\": 12345678901234.0}"));
+    }
+
+    @Test
+    public void objectFields() throws Exception {
+        assertTrue(strict("{\"a\": 1, \"b\": 2}", "{\"b\": 2, \"a\": 1}"));
+        assertFalse(strict("{\"a\": 1}", "{\"a\": 1, \"b\": 2}"));
+        assertTrue(lenient("{\"a\": 1}", "{\"a\": 1, \"b\": 2}"));
+        assertFalse(lenient("{\"a\": 1, \"b\": 2}", "{\"a\": 1}"));
+        assertFalse(lenient("{\"a\": {\"b\": 1}}", "{\"a\": {\"b\": 2, \"c\": 3}}"));
+        assertTrue(lenient("{\"a\": {\"b\": 1}}", "{\"a\": {\"b\": 1, \"c\": 3}}"));
+    }
+
+    @Test
+    public void arrayLengthMustMatchInBothModes() throws Exception {
+        assertFalse(strict("[1, 2]", "[1, 2, 3]"));
+        assertFalse(lenient("[1, 2]", "[1, 2, 3]"));
+        assertTrue(lenient("[]", "[]"));
+    }
+
+    @Test
+    public void arrayOrder() throws Exception {
+        assertFalse(strict("[1, 2, 3]", "[3, 1, 2]"));
+        assertTrue(lenient("[1, 2, 3]", "[3, 1, 2]"));
+        assertTrue(lenient("[1, 1, 2]", "[1, 2, 1]"));
+        assertFalse(lenient("[1, 1, 2]", "[1, 2, 2]"));
+        assertTrue(lenient("[[1, 2], [3]]", "[[3], [2, 1]]"));
+        assertTrue(lenient("[1, \"1\", true, null]", "[null, true, \"1\", 1.0]"));
+    }
+
+    @Test
+    public void unorderedArrayOfObjects() throws Exception {
+        assertTrue(lenient("[{\"id\": 1, \"n\": \"a\"}, {\"id\": 2, \"n\": \"b\"}]",
+            "[{\"id\": 2, \"n\": \"b\"}, {\"id\": 1, \"n\": \"a\"}]"));
+        assertFalse(lenient("[{\"id\": 1, \"n\": \"a\"}, {\"id\": 2, \"n\": \"b\"}]",
+            "[{\"id\": 2, \"n\": \"a\"}, {\"id\": 1, \"n\": \"b\"}]"));
+    }
+
+    @Test
+    public void extensibleElementsArePairedByMaximumMatching() throws Exception {
+        // a greedy pairing of {"a": 1} with the first element would leave {"a": 1, "b": 2} without a match
+        assertTrue(lenient("[{\"a\": 1}, {\"a\": 1, \"b\": 2}]", "[{\"a\": 1, \"b\": 2, \"c\": 3}, {\"a\": 1}]"));
+        assertTrue(lenient("[{\"a\": 1}, {\"b\": 2}]", "[{\"a\": 1, \"b\": 2}, {\"b\": 2, \"c\": 3}]"));
+        assertFalse(lenient("[{\"a\": 1}, {\"a\": 1, \"b\": 2}]", "[{\"a\": 1, \"c\": 3}, {\"a\": 1}]"));
+    }
+
+    @Test
+    public void largeUnorderedArray() throws Exception {
+        StringBuilder expected = new StringBuilder("[");
+        StringBuilder actual = new StringBuilder("[");
+        int size = 20_000;
+        for (int i = 0; i < size; i++) {
+            expected.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"v\":[").append(i % 7).append("]}");
+            actual.append(i > 0 ? "," : "").append("{\"id\":").append(size - 1 - i).append(",\"v\":[")
+                .append((size - 1 - i) % 7).append("]}");
+        }
+        assertTrue(lenient(expected.append("]").toString(), actual.append("]").toString()));
+    }
+
+    @Test
+    public void largeUnorderedArrayWithAdditionalFields() throws Exception {
+        int size = 10_000;
+        List<Integer> ids = new ArrayList<>();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            expected.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"n\":\"user").append(i % 10)
+                .append("\",\"tags\":[").append(i % 3).append("]}");
+            ids.add(i);
+        }
+        Collections.shuffle(ids, new Random(42));
+        StringBuilder actual = new StringBuilder("[");
+        for (int i : ids) {
+            actual.append(actual.length() > 1 ? "," : "").append("{\"id\":").append(i).append(",\"n\":\"user")
+                .append(i % 10).append("\",\"tags\":[").append(i % 3).append("],\"created\":").append(-i).append('}');
+        }
+        String expectedJson = expected.append("]").toString();
+        String actualJson = actual.append("]").toString();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertTrue(lenient(expectedJson, actualJson));
+            assertFalse(lenient(expectedJson, actualJson.replace("{\"id\":77,\"n\":\"user7\"",
+                "{\"id\":77,\"n\":\"x\"")));
+        });
+    }
+
+    @Test
+    public void extensibleElementsWithSameFieldsArePaired() throws Exception {
+        StringBuilder expected = new StringBuilder("[");
+        StringBuilder actual = new StringBuilder("[");
+        for (int i = 0; i < 2_000; i++) {
+            expected.append(i > 0 ? "," : "").append("{\"a\":1}");
+            actual.append(i > 0 ? "," : "").append("{\"a\":1,\"b\":").append(i).append('}');
+        }
+        assertTrue(lenient(expected.append("]").toString(), actual.append("]").toString()));
+    }
+
+    @Test
+    public void failureListsAllDifferences() throws Exception {
+        String message = failure(JsonComparator.STRICT,
+            "{\"a\": 1, \"b\": {\"c\": [1, 2]}, \"d\": \"x\"}",
+            "{\"a\": 2, \"b\": {\"c\": [1, 3]}, \"e\": \"x\"}");
+        assertThat(message, containsString("$.a: expected 1 but was 2"));
+        assertThat(message, containsString("$.b.c[1]: expected 2 but was 3"));
+        assertThat(message, containsString("$: missing field \"d\""));
+        assertThat(message, containsString("$: unexpected field \"e\""));
+    }
+
+    @Test
+    public void failureOfSingleUnorderedElementIsDetailed() throws Exception {
+        String message = failure(JsonComparator.LENIENT,
+            "[{\"id\": 1, \"n\": \"a\"}, {\"id\": 2, \"n\": \"b\"}]",
+            "[{\"id\": 2, \"n\": \"b\"}, {\"id\": 1, \"n\": \"c\"}]");
+        assertThat(message, containsString("$[0].n: expected \"a\" but was \"c\""));
+    }
+
+    @Test
+    public void failureOfSeveralUnorderedElements() throws Exception {
+        String message = failure(JsonComparator.LENIENT, "[1, 2, 3]", "[1, 4, 5]");
+        assertThat(message, containsString("$[1]: no match for 2"));
+        assertThat(message, containsString("$[2]: no match for 3"));
+    }
+}
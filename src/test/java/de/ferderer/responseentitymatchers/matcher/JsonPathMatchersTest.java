@@ -2,7 +2,10 @@ package de.ferderer.responseentitymatchers.matcher;
 
 import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
 import static org.hamcrest.CoreMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.*;
 import static org.springframework.http.MediaType.*;
@@ -205,4 +208,51 @@ public class JsonPathMatchersTest {
     public void isStringNoMatch() throws Exception {
         assertThrows(AssertionError.class, () -> jsonPath("$.arr").isString().match(RE));
     }
+
+    @Test
+    public void responseContextParsesBodyOnce() throws Exception {
+        AtomicInteger parsed = new AtomicInteger();
+        ResponseContext<?> context = new ResponseContext<>(ResponseEntity.ok().body(JSON)) {
+            @Override
+            Object parseJson() {
+                parsed.incrementAndGet();
+                return super.parseJson();
+            }
+        };
+
+        jsonPath("$.str").value("foo").match(context);
+        jsonPath("$.num").isNumber().match(context);
+        jsonPath("$.arr").isArray().match(context);
+        jsonPath("$.colorMap.red", equalTo("rojo")).match(context);
+        jsonPath("$.bogus").doesNotExist().match(context);
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void compiledExpressionsAreCached() throws Exception {
+        ExpressionCache<String, ?> cache = JsonPathMatchers.expressionCache();
+        String path = "$.colorMap.%s";
+        jsonPath(path, "red").exists().match(RE);
+        long misses = cache.missCount();
+        long hits = cache.hitCount();
+
+        jsonPath(path, "red").value("rojo").match(RE);
+        jsonPath("$.colorMap.red").isString().match(RE);
+        assertEquals(misses, cache.missCount());
+        assertEquals(hits + 2, cache.hitCount());
+    }
+
+    @Test
+    public void expressionWithoutArgumentsIsFormatted() throws Exception {
+        ResponseEntity<?> percent = re("{\"100%\": \"all\"}", APPLICATION_JSON);
+        jsonPath("$['100%%']").value("all").match(percent);
+        jsonPath("$['100%%']", equalTo("all")).match(percent);
+    }
+
+    @Test
+    public void valueFromByteArrayBody() throws Exception {
+        ResponseEntity<?> bytes = ResponseEntity.ok().contentType(APPLICATION_JSON).body(JSON.getBytes(StandardCharsets.UTF_8));
+        jsonPath("$.utf8Str").value("PÅ™Ã­liÅ¡").match(bytes);
+        jsonPath("$.num").value(equalTo(5.0f), Float.class).match(new ResponseContext<>(bytes));
+    }
 }
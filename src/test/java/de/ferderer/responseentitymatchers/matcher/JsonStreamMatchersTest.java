@@ -0,0 +1,107 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+public class JsonStreamMatchersTest {
+    private static final String JSON = "{\"meta\": {\"total\": 3, \"name\": \"PÅ™Ã­liÅ¡\"}, \"items\": ["
+        + "{\"id\": 1, \"price\": 9.5, \"tags\": [\"a\", \"b\"]}, "
+        + "{\"id\": 2, \"price\": 12.0, \"tags\": []}, "
+        + "{\"id\": 3, \"price\": 0.5, \"tags\": [\"c\"], \"note\": null}], \"empty\": []}";
+    private static final ResponseEntity<?> RE = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).build();
+
+    private static InputStream body() {
+        return new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void value() throws Exception {
+        jsonStream().value("$.meta.total", 3).value("$.meta['name']", is("PÅ™Ã­liÅ¡")).match(RE, body());
+    }
+
+    @Test
+    public void valueWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> jsonStream().value("$.meta.total", 4).match(RE, body()));
+    }
+
+    @Test
+    public void valueOfArrayElement() throws Exception {
+        jsonStream().value("$.items[1].id", 2).value("$.items[2].tags[0]", "c").match(RE, body());
+    }
+
+    @Test
+    public void valueOfContainer() throws Exception {
+        jsonStream().value("$.items[0].tags", contains("a", "b")).match(RE, body());
+    }
+
+    @Test
+    public void valueMissing() throws Exception {
+        assertThrows(AssertionError.class, () -> jsonStream().value("$.meta.bogus", 1).match(RE, body()));
+    }
+
+    @Test
+    public void valueRequiresDefinitePath() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> jsonStream().value("$.items[*].id", 1));
+    }
+
+    @Test
+    public void unsupportedPath() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> jsonStream().each("$..id", notNullValue()));
+        assertThrows(IllegalArgumentException.class, () -> jsonStream().each("$.items[?(@.id)]", notNullValue()));
+    }
+
+    @Test
+    public void existsAndDoesNotExist() throws Exception {
+        jsonStream().exists("$.items[2].note").doesNotExist("$.items[1].note").match(RE, body());
+    }
+
+    @Test
+    public void existsWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> jsonStream().exists("$.items[3]").match(RE, body()));
+    }
+
+    @Test
+    public void count() throws Exception {
+        jsonStream().count("$.items", 3).count("$.empty", 0).count("$.items[*].tags", is(3)).match(RE, body());
+    }
+
+    @Test
+    public void countWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> jsonStream().count("$.items", greaterThan(3)).match(RE, body()));
+    }
+
+    @Test
+    public void countOfNonArray() throws Exception {
+        assertThrows(AssertionError.class, () -> jsonStream().count("$.meta", 2).match(RE, body()));
+    }
+
+    @Test
+    public void each() throws Exception {
+        jsonStream()
+            .each("$.items[*].price", greaterThan(0.0))
+            .each("$.items[*]", hasKey("id"))
+            .each("$.items[*].tags[*]", is(oneOf("a", "b", "c")))
+            .match(RE, body());
+    }
+
+    @Test
+    public void eachWithMismatch() throws Exception {
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> jsonStream().each("$.items[*].price", greaterThan(1.0)).match(RE, body()));
+        assertThat(error.getMessage(), containsString("$['items'][2]['price']"));
+    }
+
+    @Test
+    public void invalidJson() throws Exception {
+        assertThrows(AssertionError.class, () -> jsonStream().exists("$.a")
+            .match(RE, new ByteArrayInputStream("{\"a\": ".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,61 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static java.time.Duration.ofMillis;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import de.ferderer.responseentitymatchers.load.LatencyHistogram;
+import de.ferderer.responseentitymatchers.load.LoadTestResult;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LoadTestMatchersTest {
+    private static final LoadTestResult RESULT = result(0);
+    private static final LoadTestResult FAILED = result(3);
+
+    private static LoadTestResult result(long errors) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(ofMillis(i));
+        }
+        List<Throwable> samples = errors > 0 ? List.of(new AssertionError("Response status")) : List.of();
+        return new LoadTestResult(histogram, errors, samples, Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void percentiles() throws Exception {
+        latency().p50(lessThanOrEqualTo(ofMillis(51))).match(RESULT);
+        latency().p90(lessThanOrEqualTo(ofMillis(91))).match(RESULT);
+        latency().p99(greaterThan(ofMillis(98))).match(RESULT);
+        latency().percentile(99.9, lessThanOrEqualTo(ofMillis(101))).match(RESULT);
+    }
+
+    @Test
+    public void percentileWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> latency().p99(lessThan(ofMillis(50))).match(RESULT));
+    }
+
+    @Test
+    public void maxAndMean() throws Exception {
+        latency().max(is(ofMillis(100))).match(RESULT);
+        latency().mean(both(greaterThan(ofMillis(50))).and(lessThan(ofMillis(51)))).match(RESULT);
+    }
+
+    @Test
+    public void noErrors() throws Exception {
+        load().noErrors().match(RESULT);
+        assertThrows(AssertionError.class, () -> load().noErrors().match(FAILED));
+    }
+
+    @Test
+    public void errors() throws Exception {
+        load().errors(is(3L)).match(FAILED);
+        assertThrows(AssertionError.class, () -> load().errors(is(0L)).match(FAILED));
+    }
+
+    @Test
+    public void throughput() throws Exception {
+        load().throughput(closeTo(100.0, 0.001)).match(RESULT);
+    }
+}
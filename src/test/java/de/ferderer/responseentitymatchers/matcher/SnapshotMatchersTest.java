@@ -0,0 +1,108 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+public class SnapshotMatchersTest {
+    private static final String JSON = "{\"firstname\":\"John\",\"lastname\":\"Doe\",\"tags\":[\"a\",\"b\"]}";
+    private static final String JSON_REORDERED = "{ \"tags\": [\"a\", \"b\"], \"lastname\": \"Doe\", \"firstname\": \"John\" }";
+
+    private Path directory;
+
+    private static ResponseEntity<?> re(String body, MediaType contentType) {
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("snapshots");
+    }
+
+    private ResponseMatcher snapshot(String name) {
+        return snapshot(name, SnapshotExpectations.Mode.CREATE);
+    }
+
+    private ResponseMatcher snapshot(String name, SnapshotExpectations.Mode mode) {
+        return content().matchesSnapshot(name, directory, mode);
+    }
+
+    @Test
+    public void createsMissingSnapshot() throws Exception {
+        snapshot("person").match(re(JSON, MediaType.APPLICATION_JSON));
+        snapshot("pages/index").match(re("<p>Hi</p>", MediaType.TEXT_HTML));
+        snapshot("data.csv").match(re("a;b", MediaType.TEXT_PLAIN));
+
+        assertThat(Files.readString(directory.resolve("person.json")), is(JSON));
+        assertThat(Files.readString(directory.resolve("pages/index.html")), is("<p>Hi</p>"));
+        assertThat(Files.readString(directory.resolve("data.csv")), is("a;b"));
+    }
+
+    @Test
+    public void identicalBodyMatchesByDigest() throws Exception {
+        Files.writeString(directory.resolve("person.json"), JSON);
+        ResponseEntity<?> response = re(JSON, MediaType.APPLICATION_JSON);
+        long misses = SnapshotExpectations.snapshotDigests.missCount();
+
+        for (int i = 0; i < 3; i++) {
+            snapshot("person").match(response);
+        }
+        assertEquals(misses + 1, SnapshotExpectations.snapshotDigests.missCount());
+    }
+
+    @Test
+    public void jsonComparedStructurally() throws Exception {
+        Files.writeString(directory.resolve("person.json"), JSON);
+        snapshot("person").match(re(JSON_REORDERED, MediaType.APPLICATION_JSON));
+
+        AssertionError error = assertThrows(AssertionError.class, () -> snapshot("person")
+            .match(re(JSON.replace("Doe", "Roe"), MediaType.APPLICATION_JSON)));
+        assertThat(error.getMessage(), allOf(containsString("person.json"), containsString("lastname")));
+        assertThrows(AssertionError.class, () -> snapshot("person")
+            .match(re(JSON.replace("[\"a\",\"b\"]", "[\"b\",\"a\"]"), MediaType.APPLICATION_JSON)));
+    }
+
+    @Test
+    public void xmlComparedStructurally() throws Exception {
+        Files.writeString(directory.resolve("person.xml"), "<person><name>John</name></person>");
+        snapshot("person").match(re("<person>\n  <name>John</name>\n</person>",
+            MediaType.APPLICATION_XML));
+        assertThrows(AssertionError.class, () -> snapshot("person")
+            .match(re("<person><name>Jane</name></person>", MediaType.APPLICATION_XML)));
+    }
+
+    @Test
+    public void textMismatch() throws Exception {
+        Files.writeString(directory.resolve("greeting.txt"), "Hello");
+        assertThrows(AssertionError.class, () -> snapshot("greeting")
+            .match(re("Hallo", MediaType.TEXT_PLAIN)));
+    }
+
+    @Test
+    public void updateMode() throws Exception {
+        Files.writeString(directory.resolve("greeting.txt"), "Hello");
+        snapshot("greeting", SnapshotExpectations.Mode.UPDATE).match(re("Hallo", MediaType.TEXT_PLAIN));
+        assertThat(Files.readString(directory.resolve("greeting.txt")), is("Hallo"));
+    }
+
+    @Test
+    public void verifyMode() throws Exception {
+        assertThrows(AssertionError.class, () -> snapshot("person", SnapshotExpectations.Mode.VERIFY)
+            .match(re(JSON, MediaType.APPLICATION_JSON)));
+        assertThat(Files.exists(directory.resolve("person.json")), is(false));
+    }
+
+    @Test
+    public void modeFromProperty() {
+        assertEquals(SnapshotExpectations.Mode.UPDATE, SnapshotExpectations.Mode.of("update"));
+        assertThrows(IllegalStateException.class, () -> SnapshotExpectations.Mode.of("overwrite"));
+    }
+}
@@ -0,0 +1,44 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static java.time.Duration.ofMillis;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+public class TimingMatchersTest {
+    private static final ResponseEntity<?> RE = ResponseContext.of(ResponseEntity.ok().build())
+        .timing(new ResponseTiming(ofMillis(120), ofMillis(80)));
+
+    @Test
+    public void total() throws Exception {
+        timing().total(lessThan(ofMillis(200))).match(RE);
+        timing().total(is(ofMillis(120))).match(RE);
+    }
+
+    @Test
+    public void totalWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> timing().total(lessThan(ofMillis(100))).match(RE));
+    }
+
+    @Test
+    public void timeToFirstByte() throws Exception {
+        timing().timeToFirstByte(greaterThan(ofMillis(50))).match(RE);
+        assertThrows(AssertionError.class, () -> timing().timeToFirstByte(lessThan(ofMillis(50))).match(RE));
+    }
+
+    @Test
+    public void noTimingRecorded() throws Exception {
+        assertThrows(AssertionError.class, () -> timing().total(notNullValue()).match(ResponseEntity.ok().build()));
+    }
+
+    @Test
+    public void timingFromTimestamps() throws Exception {
+        ResponseTiming timing = ResponseTiming.of(1_000, 3_000, 10_000);
+        assertThat(timing.total(), is(Duration.ofNanos(9_000)));
+        assertThat(timing.timeToFirstByte(), is(Duration.ofNanos(2_000)));
+    }
+}
@@ -0,0 +1,118 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.w3c.dom.Node;
+
+public class XPathMatchersTest {
+    private static final String XML = "<people><person id=\"1\" active=\"true\"><name>John</name><age>30</age></person>"
+        + "<person id=\"2\" active=\"false\"><name>Jane</name><age>25</age></person></people>";
+    private static final String SOAP = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+        + "<soap:Body><m:price xmlns:m=\"urn:example:stock\">34.5</m:price></soap:Body></soap:Envelope>";
+    private static final Map<String, String> NS = Map.of(
+        "s", "http://schemas.xmlsoap.org/soap/envelope/",
+        "m", "urn:example:stock");
+    private static final ResponseEntity<?> RE = ResponseContext.of(
+        ResponseEntity.ok().contentType(MediaType.APPLICATION_XML).body(XML));
+    private static final ResponseEntity<?> RE_SOAP = ResponseContext.of(
+        ResponseEntity.ok().contentType(MediaType.TEXT_XML).body(SOAP));
+
+    @Test
+    public void string() throws Exception {
+        xpath("/people/person[1]/name").string("John").match(RE);
+        xpath("/people/person[@id='%s']/name", 2).string(startsWith("Ja")).match(RE);
+    }
+
+    @Test
+    public void stringWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> xpath("/people/person[1]/name").string("Jane").match(RE));
+    }
+
+    @Test
+    public void number() throws Exception {
+        xpath("/people/person[1]/age").number(30.0).match(RE);
+        xpath("sum(/people/person/age)").number(greaterThan(50.0)).match(RE);
+    }
+
+    @Test
+    public void booleanValue() throws Exception {
+        xpath("/people/person[1]/@active = 'true'").booleanValue(true).match(RE);
+        assertThrows(AssertionError.class, () -> xpath("count(/people/person) > 2").booleanValue(true).match(RE));
+    }
+
+    @Test
+    public void value() throws Exception {
+        xpath("/people/person[2]/name").value("Jane").match(RE);
+        xpath("/people/person[2]/age").value(25).match(RE);
+        xpath("/people/person[2]/@active = 'false'").value(true).match(RE);
+        xpath("/people/person[1]/name").value(endsWith("ohn")).match(RE);
+    }
+
+    @Test
+    public void existsAndDoesNotExist() throws Exception {
+        xpath("/people/person[2]").exists().match(RE);
+        xpath("/people/person[3]").doesNotExist().match(RE);
+        assertThrows(AssertionError.class, () -> xpath("/people/person[3]").exists().match(RE));
+        assertThrows(AssertionError.class, () -> xpath("/people/person[1]").doesNotExist().match(RE));
+    }
+
+    @Test
+    public void nodeCount() throws Exception {
+        xpath("/people/person").nodeCount(2).match(RE);
+        xpath("//name").nodeCount(lessThan(3)).match(RE);
+        assertThrows(AssertionError.class, () -> xpath("/people/person").nodeCount(3).match(RE));
+    }
+
+    @Test
+    public void nodeAndNodeList() throws Exception {
+        xpath("/people/person[1]").node(notNullValue(Node.class)).match(RE);
+        xpath("/people/person").nodeList(notNullValue()).match(RE);
+    }
+
+    @Test
+    public void namespaces() throws Exception {
+        xpath("/s:Envelope/s:Body/m:price", NS).number(34.5).match(RE_SOAP);
+        xpath("/s:Envelope/s:Body/m:%s", NS, "price").exists().match(RE_SOAP);
+        xpath("/Envelope/Body/price").doesNotExist().match(RE_SOAP);
+    }
+
+    @Test
+    public void plainResponseEntity() throws Exception {
+        xpath("/people/person[1]/name").string("John").match(ResponseEntity.ok(XML));
+    }
+
+    @Test
+    public void expressionWithoutArgumentsIsFormatted() throws Exception {
+        ResponseEntity<?> percent = ResponseEntity.ok().contentType(MediaType.APPLICATION_XML)
+            .body("<rates><rate value=\"100%\">all</rate></rates>");
+        xpath("/rates/rate[@value='100%%']").string("all").match(percent);
+        xpath("/rates/rate[@value='100%%']").exists().match(percent);
+    }
+
+    @Test
+    public void invalidExpression() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> xpath("/people/person[").exists());
+    }
+
+    @Test
+    public void compiledExpressionsAreCached() throws Exception {
+        ExpressionCache<?, ?> cache = XPathMatchers.expressionCache();
+        cache.clear();
+
+        for (int i = 0; i < 10; i++) {
+            xpath("/s:Envelope/s:Body/m:price", NS).exists().match(RE_SOAP);
+        }
+        xpath("/s:Envelope/s:Body/m:price", Map.of("s", "urn:other", "m", "urn:example:stock"))
+            .doesNotExist().match(RE_SOAP);
+
+        assertEquals(2, cache.missCount());
+        assertEquals(9, cache.hitCount());
+        assertEquals(2, cache.size());
+    }
+}
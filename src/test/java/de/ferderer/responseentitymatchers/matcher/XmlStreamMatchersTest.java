@@ -0,0 +1,157 @@
+package de.ferderer.responseentitymatchers.matcher;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+public class XmlStreamMatchersTest {
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<feed><title>Partner féed</title>"
+        + "<entry id=\"1\"><price>9.5</price><tag>a</tag><tag>b</tag></entry>"
+        + "<entry id=\"2\"><price>12.0</price></entry>"
+        + "<entry id=\"3\"><price>0.5</price><tag><![CDATA[c]]></tag><note/></entry>"
+        + "<summary>total <b>3</b></summary></feed>";
+    private static final String SOAP = "<s:Envelope xmlns:s=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+        + "<s:Body><m:price xmlns:m=\"urn:example:stock\">34.5</m:price><price>1</price></s:Body></s:Envelope>";
+    private static final ResponseEntity<?> RE = ResponseEntity.ok().contentType(MediaType.APPLICATION_XML).build();
+
+    private static InputStream body() {
+        return body(XML);
+    }
+
+    private static InputStream body(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void value() throws Exception {
+        xmlStream().value("/feed/title", "Partner féed").value("/feed/entry[2]/price", is("12.0")).match(RE, body());
+    }
+
+    @Test
+    public void valueOfFirstMatch() throws Exception {
+        xmlStream().value("/feed/entry/price", "9.5").value("/feed/entry[3]/tag", "c").match(RE, body());
+    }
+
+    @Test
+    public void valueOfMixedContent() throws Exception {
+        xmlStream().value("/feed/summary", "total 3").match(RE, body());
+    }
+
+    @Test
+    public void valueOfAttribute() throws Exception {
+        xmlStream().value("/feed/entry[3]/@id", "3").match(RE, body());
+    }
+
+    @Test
+    public void valueWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> xmlStream().value("/feed/title", "Other").match(RE, body()));
+    }
+
+    @Test
+    public void valueMissing() throws Exception {
+        assertThrows(AssertionError.class, () -> xmlStream().value("/feed/bogus", "x").match(RE, body()));
+    }
+
+    @Test
+    public void valueRequiresDefinitePath() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().value("//price", "9.5"));
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().value("/feed/*/price", "9.5"));
+    }
+
+    @Test
+    public void unsupportedPath() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().exists("feed/entry"));
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().exists("/feed/entry[@id='1']"));
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().exists("/feed//entry"));
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().exists("/feed/entry/text()"));
+        assertThrows(IllegalArgumentException.class, () -> xmlStream().exists("/x:feed"));
+    }
+
+    @Test
+    public void existsAndDoesNotExist() throws Exception {
+        xmlStream()
+            .exists("/feed/entry[3]/note")
+            .exists("//tag")
+            .doesNotExist("/feed/entry[2]/tag")
+            .doesNotExist("/feed/entry/@missing")
+            .match(RE, body());
+    }
+
+    @Test
+    public void existsWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> xmlStream().exists("/feed/entry[4]").match(RE, body()));
+        assertThrows(AssertionError.class, () -> xmlStream().doesNotExist("/feed/entry").match(RE, body()));
+    }
+
+    @Test
+    public void count() throws Exception {
+        xmlStream()
+            .count("/feed/entry", 3)
+            .count("//tag", 3)
+            .count("/feed/entry[1]/tag", is(2))
+            .count("/feed/*", 5)
+            .count("//entry/@id", 3)
+            .match(RE, body());
+    }
+
+    @Test
+    public void countWithMismatch() throws Exception {
+        assertThrows(AssertionError.class, () -> xmlStream().count("/feed/entry", greaterThan(3)).match(RE, body()));
+    }
+
+    @Test
+    public void each() throws Exception {
+        xmlStream()
+            .each("/feed/entry/price", matchesPattern("[0-9.]+"))
+            .each("//entry/@id", is(oneOf("1", "2", "3")))
+            .each("//tag", hasLength(1))
+            .match(RE, body());
+    }
+
+    @Test
+    public void eachWithMismatch() throws Exception {
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> xmlStream().each("/feed/entry/@id", not("2")).match(RE, body()));
+        assertThat(error.getMessage(), containsString("/feed[1]/entry[2]/@id"));
+        error = assertThrows(AssertionError.class,
+            () -> xmlStream().each("//tag", not("b")).match(RE, body()));
+        assertThat(error.getMessage(), containsString("/feed[1]/entry[1]/tag[2]"));
+    }
+
+    @Test
+    public void namespaces() throws Exception {
+        Map<String, String> ns = Map.of("s", "http://schemas.xmlsoap.org/soap/envelope/", "m", "urn:example:stock");
+        xmlStream(ns)
+            .value("/s:Envelope/s:Body/m:price", "34.5")
+            .count("/s:Envelope/s:Body/price", 2)
+            .count("//m:price", 1)
+            .match(RE, body(SOAP));
+    }
+
+    @Test
+    public void encodingFromDeclaration() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><name>Jürgen</name>";
+        xmlStream().value("/name", "Jürgen")
+            .match(RE, new ByteArrayInputStream(xml.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    public void invalidXml() throws Exception {
+        assertThrows(AssertionError.class, () -> xmlStream().exists("/a").match(RE, body("<a><b></a>")));
+    }
+
+    @Test
+    public void doctypeIsNotResolved() throws Exception {
+        String xml = "<!DOCTYPE a [<!ENTITY x SYSTEM \"file:///etc/passwd\">]><a>&x;</a>";
+        assertThrows(AssertionError.class, () -> xmlStream().value("/a", "").match(RE, body(xml)));
+    }
+}
@@ -0,0 +1,115 @@
+package de.ferderer.responseentitymatchers.replay;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import de.ferderer.responseentitymatchers.matcher.ResponseContext;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+public class ResponseStoreTest {
+
+    private static RecordedResponse response(HttpStatus status, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Type", "application/json");
+        headers.add("Set-Cookie", "a=1");
+        headers.add("Set-Cookie", "b=2");
+        return new RecordedResponse(status, headers, body != null ? body.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    @Test
+    public void key() {
+        assertThat(ResponseStore.key(RequestEntity.get(URI.create("http://localhost:8080/users?page=1")).build()),
+            is("GET /users?page=1"));
+        assertThat(ResponseStore.key(RequestEntity.delete(URI.create("http://example.com")).build()),
+            is("DELETE /"));
+    }
+
+    @Test
+    public void recordAndReplay() throws Exception {
+        try (ResponseStore store = new ResponseStore(Files.createTempDirectory("store"))) {
+            store.record("GET /a", response(HttpStatus.OK, "{\"a\": 1}"));
+            store.record("GET /b", response(HttpStatus.NO_CONTENT, null));
+
+            RecordedResponse a = store.replay("GET /a");
+            assertThat(a.status(), is(HttpStatus.OK));
+            assertThat(a.headers().get("Set-Cookie"), contains("a=1", "b=2"));
+            assertThat(new String(a.body(), StandardCharsets.UTF_8), is("{\"a\": 1}"));
+            assertThat(store.replay("GET /b").body(), nullValue());
+            assertThat(store.replay("GET /c"), nullValue());
+        }
+    }
+
+    @Test
+    public void replayInOrderOfRecording() throws Exception {
+        try (ResponseStore store = new ResponseStore(Files.createTempDirectory("store"))) {
+            store.record("GET /a", response(HttpStatus.NOT_FOUND, null));
+            store.record("GET /a", response(HttpStatus.OK, null));
+
+            assertThat(store.replay("GET /a").status(), is(HttpStatus.NOT_FOUND));
+            assertThat(store.replay("GET /a").status(), is(HttpStatus.OK));
+            assertThat(store.replay("GET /a").status(), is(HttpStatus.OK));
+            store.rewind();
+            assertThat(store.replay("GET /a").status(), is(HttpStatus.NOT_FOUND));
+        }
+    }
+
+    @Test
+    public void reopen() throws Exception {
+        Path directory = Files.createTempDirectory("store");
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.record("GET /a", response(HttpStatus.OK, "a"));
+        }
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.record("GET /b", response(HttpStatus.OK, "b"));
+        }
+        try (ResponseStore store = new ResponseStore(directory)) {
+            assertThat(store.size(), is(2));
+            assertThat(new String(store.replay("GET /a").body(), StandardCharsets.UTF_8), is("a"));
+            assertThat(new String(store.replay("GET /b").body(), StandardCharsets.UTF_8), is("b"));
+        }
+    }
+
+    @Test
+    public void largeHeaders() throws Exception {
+        Path directory = Files.createTempDirectory("store");
+        String policy = "default-src 'self' " + "https://cdn.example.com ".repeat(4000);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Security-Policy", policy);
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.record("GET /" + "a".repeat(70_000), new RecordedResponse(HttpStatus.OK, headers, null));
+        }
+        try (ResponseStore store = new ResponseStore(directory)) {
+            RecordedResponse response = store.replay("GET /" + "a".repeat(70_000));
+            assertThat(response.headers().getFirst("Content-Security-Policy"), is(policy));
+        }
+    }
+
+    @Test
+    public void recordFileBody() throws Exception {
+        Path file = Files.writeString(Files.createTempFile("response-", ".body"), "from file");
+        try (ResponseStore store = new ResponseStore(Files.createTempDirectory("store"))) {
+            store.record(ResponseContext.of(ResponseEntity.ok().body(file))
+                .request(RequestEntity.get(URI.create("http://localhost/download")).build()));
+
+            assertThat(new String(store.replay("GET /download").body(), StandardCharsets.UTF_8), is("from file"));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void recordRequiresRequest() throws Exception {
+        try (ResponseStore store = new ResponseStore(Files.createTempDirectory("store"))) {
+            assertThrows(IllegalArgumentException.class, () -> store.record(ResponseEntity.ok("a")));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.ferderer.responseentitymatchers.ExternalWebTestBase;
+import de.ferderer.responseentitymatchers.replay.RecordedResponse;
+import de.ferderer.responseentitymatchers.replay.ResponseStore;
+import de.ferderer.responseentitymatchers.transport.HttpTransport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+public class ExternalWebTestBaseIT extends ExternalWebTestBase {
+
+    private static HttpServer server;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/test/ok", exchange -> {
+            if (exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 201, exchange.getRequestBody().readAllBytes());
+            }
+            else {
+                respond(exchange, 200, "{\"firstname\":\"John\"}".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @Override
+    protected String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Test
+    public void getMethod() throws Exception {
+        perform(get("/test/ok"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.firstname", is("John")));
+    }
+
+    @Test
+    public void postMethod() throws Exception {
+        post("/test/ok")
+            .withContent(new Person("Jane"))
+            .perform()
+            .andExpect(status().isCreated())
+            .andExpect(content().json("{\"firstname\":\"Jane\"}"));
+    }
+
+    @Test
+    public void absoluteUrl() throws Exception {
+        perform(get(baseUrl() + "/missing"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void batch() throws Exception {
+        var batch = performAll(get("/test/ok"), get("/missing"));
+        batch.get(0).andExpect(status().isOk());
+        batch.get(1).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void replayFromStore() throws Exception {
+        Path directory = Files.createTempDirectory("replay");
+        try (ResponseStore store = new ResponseStore(directory)) {
+            store.record("GET /recorded", new RecordedResponse(HttpStatus.ACCEPTED, new HttpHeaders(), null));
+        }
+        var test = new ReplayTest(directory.toString());
+        test.perform(test.get("/recorded")).andExpect(status().isAccepted());
+        assertSame(test.replayTransport(), new ReplayTest(directory.toString()).replayTransport());
+    }
+
+    @Test
+    public void replayFromStoreThatCannotBeOpened() throws Exception {
+        Path file = Files.createTempFile("replay", ".store");
+        try {
+            var test = new ReplayTest(file.toString());
+            assertThrows(UncheckedIOException.class, test::replayTransport);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void missingBaseUrl() {
+        var test = new ExternalWebTestBase() {};
+        assertThrows(IllegalStateException.class, () -> test.get("/test/ok"));
+    }
+
+    public record Person(String firstname) {}
+
+    /**
+     * Test replaying from the given store, as if started with system property testing.replay-store.
+     */
+    private static class ReplayTest extends ExternalWebTestBase {
+
+        private final String replayStore;
+
+        ReplayTest(String replayStore) {
+            this.replayStore = replayStore;
+        }
+
+        @Override
+        protected String replayStore() {
+            return replayStore;
+        }
+
+        HttpTransport replayTransport() {
+            return transport();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import de.ferderer.responseentitymatchers.transport.JdkHttpTransport;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs all integration tests over the JDK HttpClient transport.
+ */
+@TestPropertySource(properties = "testing.transport=jdk")
+public class JdkTransportIT extends RestTestBaseIT {
+
+    @Test
+    public void transportSelectedByProperty() {
+        assertThat(transport(), instanceOf(JdkHttpTransport.class));
+    }
+}
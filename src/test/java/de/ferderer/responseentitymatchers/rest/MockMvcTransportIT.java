@@ -0,0 +1,31 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import de.ferderer.responseentitymatchers.transport.MockMvcTransport;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs all integration tests in-process via MockMvc, without starting the embedded server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@TestPropertySource(properties = "testing.transport=mock-mvc")
+public class MockMvcTransportIT extends RestTestBaseIT {
+
+    @Test
+    public void noServerStarted() {
+        assertThat(transport(), instanceOf(MockMvcTransport.class));
+        assertThat(client, nullValue());
+        assertThat(port, is(0));
+    }
+
+    @Test
+    @Override
+    @Disabled("mock request does not parse multipart bodies")
+    public void uploadMultipart() {}
+}
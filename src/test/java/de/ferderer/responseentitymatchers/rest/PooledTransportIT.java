@@ -0,0 +1,45 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import de.ferderer.responseentitymatchers.transport.ConnectionStats;
+import de.ferderer.responseentitymatchers.transport.PooledHttpTransport;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs all integration tests over the pooled Apache HttpClient transport.
+ */
+@TestPropertySource(properties = {"testing.transport=pooled", "testing.http.max-connections-per-route=4"})
+public class PooledTransportIT extends RestTestBaseIT {
+
+    @Test
+    public void connectionsAreReused() throws Exception {
+        var transport = (PooledHttpTransport) transport();
+        ConnectionStats before = transport.connectionStats();
+        get("/test/ok").repeat(100).concurrency(4).expectEach(status().isOk()).perform()
+            .andExpect(load().noErrors());
+        ConnectionStats after = transport.connectionStats();
+
+        assertThat(after.requests() - before.requests(), is(100L));
+        assertThat(after.connectionsOpened() - before.connectionsOpened(), lessThanOrEqualTo(4L));
+        assertThat(after.leased(), is(0));
+        assertThat(after.available(), allOf(greaterThan(0), lessThanOrEqualTo(4)));
+    }
+
+    @Test
+    public void unreadLazyBodiesAreReleased() throws Exception {
+        var transport = (PooledHttpTransport) transport();
+        for (int i = 0; i < 4; i++) {
+            get("/test/ok").lazyBody().perform().andExpect(status().isOk());
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (transport.connectionStats().leased() > 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(transport.connectionStats().leased(), is(0));
+        get("/test/ok").perform().andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,44 @@
+package de.ferderer.responseentitymatchers.rest;
+
+import static de.ferderer.responseentitymatchers.handler.HandlerFactory.record;
+import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.CoreMatchers.is;
+import de.ferderer.responseentitymatchers.WebTestBase;
+import de.ferderer.responseentitymatchers.replay.ReplayTransport;
+import de.ferderer.responseentitymatchers.replay.ResponseStore;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource("/application-test.properties")
+public class ReplayIT extends WebTestBase {
+
+    private static final String USER = "{\"username\":\"Jane Doe\",\"firstname\":\"Jane\",\"lastname\":\"Doe\"}";
+
+    @Test
+    public void recordAndReplay() throws Exception {
+        var directory = Files.createTempDirectory("replay");
+        try (ResponseStore store = new ResponseStore(directory)) {
+            get("/test/ok").perform().andDo(record(store));
+            post("/test/ok").contentType(MediaType.APPLICATION_JSON).withContent(USER).perform().andDo(record(store));
+            get("/test/xml").bodyAsBytes().perform().andDo(record(store));
+            get("/missing").perform().andDo(record(store));
+        }
+
+        try (ResponseStore store = new ResponseStore(directory)) {
+            var transport = new ReplayTransport(store);
+            new RequestBuilder(transport, HttpMethod.GET, "http://replay/test/ok").perform()
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.firstname", is("John")));
+            new RequestBuilder(transport, HttpMethod.POST, "http://replay/test/ok").perform()
+                .andExpect(jsonPath("$.firstname", is("Jane")));
+            new RequestBuilder(transport, HttpMethod.GET, "http://replay/test/xml").perform()
+                .andExpect(xpath("/person/firstname").string("John"));
+            new RequestBuilder(transport, HttpMethod.GET, "http://replay/missing").perform()
+                .andExpect(status().isNotFound());
+        }
+    }
+}
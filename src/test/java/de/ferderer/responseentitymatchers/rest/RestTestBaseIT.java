@@ -1,8 +1,20 @@
 package de.ferderer.responseentitymatchers.rest;
 
 import static de.ferderer.responseentitymatchers.matcher.MatcherFactory.*;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import de.ferderer.responseentitymatchers.WebTestBase;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
@@ -29,6 +41,256 @@ public class RestTestBaseIT extends WebTestBase {
             .andExpect(jsonPath("$.firstname", is("John")));
     }
 
+    @Test
+    public void byteArrayBody() throws Exception {
+        get("/test/ok")
+            .bodyAsBytes()
+            .perform()
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("John")))
+            .andExpect(jsonPath("$.firstname", is("John")));
+    }
+
+    @Test
+    public void lazyBody() throws Exception {
+        var actions = get("/test/ok")
+            .lazyBody()
+            .perform()
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        actions.andExpect(jsonPath("$.firstname", is("John")));
+        assertThat(actions.andReturn().hasBody(), is(true));
+    }
+
+    @Test
+    public void discardedBody() throws Exception {
+        var actions = get("/test/ok")
+            .discardBody()
+            .perform()
+            .andExpect(status().isOk())
+            .andExpect(header().exists("Content-Type"));
+
+        assertThat(actions.andReturn().hasBody(), is(false));
+    }
+
+    @Test
+    public void streamingBody() throws Exception {
+        get("/test/ok")
+            .perform(jsonStream().value("$.firstname", "John").exists("$.lastname"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void streamingXmlBody() throws Exception {
+        get("/test/xml")
+            .perform(xmlStream().value("/person/firstname", "John").count("/person/*", 3))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    public void streamingDigest() throws Exception {
+        get("/test/download").withParam("size", "1000000")
+            .perform(content().size(1_000_000))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM));
+
+        var body = get("/test/download").bodyAsBytes().perform().andReturn().getBody();
+        get("/test/download")
+            .perform(content().crc32(checksum((byte[]) body)))
+            .andExpect(status().isOk());
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    @Test
+    public void bodyToFile() throws Exception {
+        var bytes = get("/test/download").withParam("size", "3000000").bodyAsBytes().perform().andReturn().getBody();
+        Path file;
+        try (var actions = get("/test/download").withParam("size", "3000000").bodyToFile().perform()) {
+            actions
+                .andExpect(status().isOk())
+                .andExpect(file().size(3_000_000))
+                .andExpect(file().bytes(251, new byte[] {0, 1, 2}))
+                .andExpect(file().crc32(checksum((byte[]) bytes)))
+                .andExpect(content().size(3_000_000));
+            file = actions.andReturnFile();
+            assertEquals(3_000_000, Files.size(file));
+        }
+        assertThat(Files.exists(file), is(false));
+    }
+
+    @Test
+    public void returnedFileIsKept() throws Exception {
+        Path file = get("/test/download").withParam("size", "3000000").bodyToFile().perform().andReturnFile();
+        try {
+            for (int i = 0; i < 5; i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            assertEquals(3_000_000, Files.readAllBytes(file).length);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void bodyToFileUnderLoad() throws Exception {
+        get("/test/download")
+            .bodyToFile()
+            .repeat(5)
+            .expectEach(file().size(1024))
+            .perform()
+            .andExpect(load().noErrors());
+    }
+
+    @Test
+    public void uploadFile() throws Exception {
+        byte[] content = new byte[500_000];
+        new Random(42).nextBytes(content);
+        Path file = Files.write(Files.createTempFile("upload-", ".bin"), content);
+        try {
+            post("/test/upload")
+                .withContent(file)
+                .perform()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contentType", is("application/octet-stream")))
+                .andExpect(jsonPath("$.size", is(500_000)))
+                .andExpect(jsonPath("$.crc32", is(checksum(content)), Long.class));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void uploadMultipart() throws Exception {
+        Path file = Files.write(Files.createTempFile("upload-", ".bin"), new byte[500_000]);
+        try {
+            post("/test/upload")
+                .withPart("file", file)
+                .withPart("description", "random bytes")
+                .perform()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filename", is(file.getFileName().toString())))
+                .andExpect(jsonPath("$.size", is(500_000)))
+                .andExpect(jsonPath("$.description", is("random bytes")))
+                .andExpect(jsonPath("$.transferEncoding", is("chunked")));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void uploadStream() throws Exception {
+        byte[] content = new byte[300_000];
+        new Random(7).nextBytes(content);
+
+        post("/test/upload")
+            .withContent(new ByteArrayInputStream(content), content.length)
+            .perform()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.size", is(300_000)))
+            .andExpect(jsonPath("$.crc32", is(checksum(content)), Long.class));
+
+        post("/test/upload")
+            .withContent(new ByteArrayInputStream(content), -1)
+            .perform()
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.size", is(300_000)))
+            .andExpect(jsonPath("$.crc32", is(checksum(content)), Long.class));
+    }
+
+    @Test
+    public void asyncGetMethods() throws Exception {
+        var first = performAsync(get("/test/ok"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.firstname", is("John")));
+        var second = delete("/test/{id}", "Jane")
+            .performAsync()
+            .andExpect(status().isOk())
+            .andExpect(content().string("Jane"));
+
+        first.await();
+        second.await();
+    }
+
+    @Test
+    public void asyncFailureIsRethrown() throws Exception {
+        var future = get("/test/ok").performAsync().andExpect(status().isNotFound());
+        assertThrows(AssertionError.class, future::await);
+    }
+
+    @Test
+    public void batchOfRequests() throws Exception {
+        var batch = performAll(
+                delete("/test/{id}", "Jane"),
+                delete("/test/{id}", "John"),
+                get("/test/ok"))
+            .andExpect(status().isOk());
+
+        batch.get(0).andExpect(content().string("Jane"));
+        batch.get(1).andExpect(content().string("John"));
+        batch.get(2).andExpect(jsonPath("$.firstname", is("John")));
+    }
+
+    @Test
+    public void batchCollectsAllFailures() throws Exception {
+        var batch = performAll(2, List.of(delete("/test/{id}", "Jane"), delete("/test/{id}", "John")));
+        var error = assertThrows(AssertionError.class, () -> batch.andExpect(content().string("Joe")));
+        assertEquals(2, error.getSuppressed().length);
+    }
+
+    @Test
+    public void expectAll() throws Exception {
+        perform(get("/test/ok"))
+            .andExpectAll(
+                status().isOk(),
+                jsonPath("$.firstname").value("John"),
+                jsonPath("$.lastname").value("Doe"));
+    }
+
+    @Test
+    public void expectAllReportsEveryFailure() throws Exception {
+        var actions = perform(get("/test/ok"));
+        var error = assertThrows(AssertionError.class, () -> actions.andExpectAll(
+            status().isOk(),
+            jsonPath("$.firstname").value("Jane"),
+            jsonPath("$.lastname").value("Roe")));
+        assertEquals(2, error.getSuppressed().length);
+        assertThat(error.getMessage(), containsString("Expectation #2"));
+        assertThat(error.getMessage(), containsString("Expectation #3"));
+    }
+
+    @Test
+    public void responseTiming() throws Exception {
+        perform(get("/test/ok"))
+            .andExpect(status().isOk())
+            .andExpect(timing().total(lessThan(Duration.ofSeconds(5))))
+            .andExpect(timing().timeToFirstByte(lessThan(Duration.ofSeconds(5))));
+    }
+
+    @Test
+    public void loadTest() throws Exception {
+        var result = get("/test/ok")
+            .repeat(40)
+            .concurrency(4)
+            .warmup(5)
+            .expectEach(status().isOk())
+            .perform()
+            .andExpect(load().noErrors())
+            .andExpect(latency().p99(lessThan(Duration.ofSeconds(5))))
+            .andReturn();
+        assertEquals(40, result.count());
+    }
+
     @Test
     public void postMethod() throws Exception {
         post("/test/ok")